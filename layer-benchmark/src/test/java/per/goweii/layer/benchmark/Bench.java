@@ -0,0 +1,65 @@
+package per.goweii.layer.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 简单的计时和分配统计
+ * 分配量来自HotSpot的线程分配计数，Robolectric的影子类也会计入，只适合前后对比
+ */
+final class Bench {
+    static final int WARMUP = 50;
+    static final int ITERATIONS = 500;
+
+    interface Op {
+        void run();
+    }
+
+    private Bench() {
+    }
+
+    static BenchmarkReport measure(Op op) {
+        return measure(WARMUP, ITERATIONS, op);
+    }
+
+    static BenchmarkReport measure(int warmup, int iterations, Op op) {
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        final long bytesBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            op.run();
+        }
+        final long nanos = (System.nanoTime() - start) / iterations;
+        final long bytesAfter = allocatedBytes();
+        BenchmarkReport report = new BenchmarkReport()
+                .put("iterations", iterations)
+                .put("nsPerOp", nanos)
+                .put("opsPerSecond", 1_000_000_000L / Math.max(nanos, 1L));
+        if (bytesBefore >= 0 && bytesAfter >= 0) {
+            report.put("bytesPerOp", (bytesAfter - bytesBefore) / iterations);
+        } else {
+            report.put("bytesPerOp", -1);
+        }
+        return report;
+    }
+
+    /**
+     * @return 当前线程已分配的字节数，不支持时返回-1
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (!sunBean.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
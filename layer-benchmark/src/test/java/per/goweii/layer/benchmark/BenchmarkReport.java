@@ -0,0 +1,157 @@
+package per.goweii.layer.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试结果，按插入顺序输出为JSON
+ * 不使用org.json，Robolectric下它来自android-all，避免结果格式随SDK版本变化
+ */
+public class BenchmarkReport {
+    private static final String REPORT_DIR_PROPERTY = "layer.benchmark.reportDir";
+    private static final String DEFAULT_REPORT_DIR = "build/reports/layer-benchmark";
+
+    private final Map<String, Object> mValues = new LinkedHashMap<>();
+
+    public BenchmarkReport put(String key, long value) {
+        mValues.put(key, value);
+        return this;
+    }
+
+    public BenchmarkReport put(String key, double value) {
+        mValues.put(key, value);
+        return this;
+    }
+
+    public BenchmarkReport put(String key, String value) {
+        mValues.put(key, value);
+        return this;
+    }
+
+    public BenchmarkReport put(String key, BenchmarkReport value) {
+        mValues.put(key, value);
+        return this;
+    }
+
+    public BenchmarkReport put(String key, List<BenchmarkReport> value) {
+        mValues.put(key, new ArrayList<>(value));
+        return this;
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        writeValue(sb, this, 0);
+        return sb.toString();
+    }
+
+    /**
+     * 写入{@code <reportDir>/<name>.json}并返回该文件
+     */
+    public File write(String name) throws IOException {
+        File dir = new File(System.getProperty(REPORT_DIR_PROPERTY, DEFAULT_REPORT_DIR));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("无法创建目录 " + dir);
+        }
+        File file = new File(dir, name + ".json");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8")) {
+            writer.write(toJson());
+            writer.write('\n');
+        }
+        return file;
+    }
+
+    private static void writeValue(StringBuilder sb, Object value, int indent) {
+        if (value instanceof BenchmarkReport) {
+            Map<String, Object> values = ((BenchmarkReport) value).mValues;
+            if (values.isEmpty()) {
+                sb.append("{}");
+                return;
+            }
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (!first) sb.append(',');
+                first = false;
+                newLine(sb, indent + 1);
+                writeString(sb, entry.getKey());
+                sb.append(": ");
+                writeValue(sb, entry.getValue(), indent + 1);
+            }
+            newLine(sb, indent);
+            sb.append('}');
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            if (list.isEmpty()) {
+                sb.append("[]");
+                return;
+            }
+            sb.append('[');
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) sb.append(',');
+                newLine(sb, indent + 1);
+                writeValue(sb, list.get(i), indent + 1);
+            }
+            newLine(sb, indent);
+            sb.append(']');
+        } else if (value instanceof Double) {
+            double d = (Double) value;
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                sb.append("null");
+            } else {
+                sb.append(d);
+            }
+        } else if (value instanceof Number) {
+            sb.append(value);
+        } else if (value == null) {
+            sb.append("null");
+        } else {
+            writeString(sb, value.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                    break;
+            }
+        }
+        sb.append('"');
+    }
+
+    private static void newLine(StringBuilder sb, int indent) {
+        sb.append('\n');
+        for (int i = 0; i < indent; i++) {
+            sb.append("  ");
+        }
+    }
+}
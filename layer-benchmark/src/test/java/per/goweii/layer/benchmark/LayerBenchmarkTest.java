@@ -0,0 +1,140 @@
+package per.goweii.layer.benchmark;
+
+import android.app.Activity;
+import android.os.Build;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import per.goweii.layer.core.anim.AnimatorHelper;
+import per.goweii.layer.dialog.DialogLayer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 核心路径的基准测试，每个用例输出一个JSON文件，用于改动前后对比
+ * 运行在Robolectric上，测量的是库自身的开销，不包含真实的渲染
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LayerBenchmarkTest {
+    private static final int[] STACK_SIZES = {0, 10, 50, 100};
+
+    private ActivityController<Activity> mController;
+    private Activity mActivity;
+
+    @Before
+    public void setUp() {
+        mController = Robolectric.buildActivity(Activity.class).setup();
+        mActivity = mController.get();
+    }
+
+    @After
+    public void tearDown() {
+        mController.pause().stop().destroy();
+    }
+
+    private DialogLayer newLayer() {
+        return new DialogLayer(mActivity).setContentView(new FrameLayout(mActivity));
+    }
+
+    private DialogLayer showDismissOnce() {
+        DialogLayer layer = newLayer();
+        layer.showImmediately(false);
+        layer.dismiss(false);
+        ShadowLooper.idleMainLooper();
+        return layer;
+    }
+
+    private BenchmarkReport newReport() {
+        return new BenchmarkReport()
+                .put("sdk", Build.VERSION.SDK_INT)
+                .put("java", System.getProperty("java.version"));
+    }
+
+    /**
+     * 不带动画的show/dismiss，包含inflate、attach、detach
+     */
+    @Test
+    public void showDismiss() throws IOException {
+        BenchmarkReport result = Bench.measure(new Bench.Op() {
+            @Override
+            public void run() {
+                showDismissOnce();
+            }
+        });
+        newReport().put("showDismiss", result).write("showDismiss");
+        assertFalse(showDismissOnce().isShown());
+    }
+
+    /**
+     * 已有不同数量的浮层时再显示一个浮层，一半浮层各自独立层级，覆盖installParent按层级查找的开销
+     */
+    @Test
+    public void installParent() throws IOException {
+        List<BenchmarkReport> results = new ArrayList<>();
+        for (int stackSize : STACK_SIZES) {
+            List<DialogLayer> stacked = new ArrayList<>(stackSize);
+            for (int i = 0; i < stackSize; i++) {
+                DialogLayer layer = newLayer();
+                layer.setLevel(i % 2 == 0 ? i + 1 : 0);
+                layer.showImmediately(false);
+                stacked.add(layer);
+            }
+            BenchmarkReport result = Bench.measure(new Bench.Op() {
+                @Override
+                public void run() {
+                    showDismissOnce();
+                }
+            });
+            for (DialogLayer layer : stacked) {
+                layer.dismiss(false);
+            }
+            ShadowLooper.idleMainLooper();
+            for (DialogLayer layer : stacked) {
+                assertFalse(layer.isShown());
+            }
+            results.add(result.put("stackedLayers", stackSize));
+        }
+        newReport().put("installParent", results).write("installParent");
+    }
+
+    @Test
+    public void animatorCreation() throws IOException {
+        final View target = new View(mActivity);
+        BenchmarkReport report = newReport();
+        report.put("alphaIn", Bench.measure(new Bench.Op() {
+            @Override
+            public void run() {
+                AnimatorHelper.createAlphaInAnim(target);
+            }
+        }));
+        report.put("zoomAlphaIn", Bench.measure(new Bench.Op() {
+            @Override
+            public void run() {
+                AnimatorHelper.createZoomAlphaInAnim(target);
+            }
+        }));
+        report.put("zoomOut", Bench.measure(new Bench.Op() {
+            @Override
+            public void run() {
+                AnimatorHelper.createZoomOutAnim(target);
+            }
+        }));
+        assertTrue(report.write("animatorCreation").isFile());
+    }
+}
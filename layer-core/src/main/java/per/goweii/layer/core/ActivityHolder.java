@@ -3,19 +3,26 @@ package per.goweii.layer.core;
 import android.app.Activity;
 import android.app.Application;
 import android.os.Bundle;
-import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.lang.ref.WeakReference;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.WeakHashMap;
 
 import per.goweii.layer.core.utils.Utils;
 
 public final class ActivityHolder {
-    private final List<WeakReference<Activity>> mActivityStack = new LinkedList<>();
+    private final ArrayList<WeakReference<Activity>> mActivityStack = new ArrayList<>();
+    /**
+     * 每个Activity类最后创建的实例
+     */
+    private final HashMap<Class<?>, WeakReference<Activity>> mActivityIndex = new HashMap<>();
+    private final WeakHashMap<Activity, Boolean> mStartedActivities = new WeakHashMap<>();
+
+    private WeakReference<Activity> mResumedActivity = null;
 
     public ActivityHolder(@NonNull Application application) {
         application.registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacksImpl());
@@ -30,25 +37,13 @@ public final class ActivityHolder {
 
     @Nullable
     public Activity getActivity(@NonNull Class<Activity> clazz) {
-        final List<WeakReference<Activity>> stack = mActivityStack;
-        if (stack.isEmpty()) return null;
-        final int size = stack.size();
-        Activity find = null;
-        for (int i = size - 1; i >= 0; i--) {
-            WeakReference<Activity> ref = stack.get(i);
-            final Activity activity = ref.get();
-            if (activity == null) {
-                ref.clear();
-                stack.remove(i);
-            } else {
-                if (find == null) {
-                    if (TextUtils.equals(clazz.getName(), activity.getClass().getName())) {
-                        find = activity;
-                    }
-                }
-            }
+        final WeakReference<Activity> ref = mActivityIndex.get(clazz);
+        if (ref == null) return null;
+        final Activity activity = ref.get();
+        if (activity == null) {
+            mActivityIndex.remove(clazz);
         }
-        return find;
+        return activity;
     }
 
     @NonNull
@@ -60,51 +55,112 @@ public final class ActivityHolder {
 
     @Nullable
     public Activity getCurrentActivity() {
-        final List<WeakReference<Activity>> stack = mActivityStack;
-        if (stack.isEmpty()) return null;
-        final int size = stack.size();
-        for (int i = size - 1; i >= 0; i--) {
-            WeakReference<Activity> ref = stack.get(i);
-            if (ref.get() == null) {
+        final ArrayList<WeakReference<Activity>> stack = mActivityStack;
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            final Activity activity = stack.get(i).get();
+            if (activity != null) {
+                return activity;
+            }
+            stack.remove(i);
+        }
+        return null;
+    }
+
+    /**
+     * 当前处于resumed状态的Activity
+     */
+    @Nullable
+    public Activity getResumedActivity() {
+        if (mResumedActivity == null) return null;
+        return mResumedActivity.get();
+    }
+
+    public boolean isResumed(@NonNull Activity activity) {
+        return getResumedActivity() == activity;
+    }
+
+    public boolean isStarted(@NonNull Activity activity) {
+        return mStartedActivities.containsKey(activity);
+    }
+
+    /**
+     * 是否有处于started状态的Activity，即应用在前台
+     */
+    public boolean isForeground() {
+        return !mStartedActivities.isEmpty();
+    }
+
+    private void removeFromStack(@NonNull Activity activity) {
+        final ArrayList<WeakReference<Activity>> stack = mActivityStack;
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            final WeakReference<Activity> ref = stack.get(i);
+            final Activity item = ref.get();
+            if (item == null || item == activity) {
                 ref.clear();
                 stack.remove(i);
+                if (item == activity) break;
+            }
+        }
+    }
+
+    private void removeFromIndex(@NonNull Activity activity) {
+        final Class<?> clazz = activity.getClass();
+        final WeakReference<Activity> ref = mActivityIndex.get(clazz);
+        if (ref == null) return;
+        final Activity indexed = ref.get();
+        if (indexed != null && indexed != activity) return;
+        mActivityIndex.remove(clazz);
+        // 回退到同类的上一个实例，仅在销毁时发生
+        final ArrayList<WeakReference<Activity>> stack = mActivityStack;
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            final WeakReference<Activity> item = stack.get(i);
+            final Activity itemActivity = item.get();
+            if (itemActivity != null && itemActivity.getClass() == clazz) {
+                mActivityIndex.put(clazz, item);
+                return;
             }
         }
-        if (stack.isEmpty()) return null;
-        return stack.get(stack.size() - 1).get();
     }
 
     private class ActivityLifecycleCallbacksImpl implements Application.ActivityLifecycleCallbacks {
         @Override
         public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) {
-            mActivityStack.add(new WeakReference<>(activity));
+            final WeakReference<Activity> ref = new WeakReference<>(activity);
+            mActivityStack.add(ref);
+            mActivityIndex.put(activity.getClass(), ref);
         }
 
         @Override
         public void onActivityStarted(@NonNull Activity activity) {
+            mStartedActivities.put(activity, Boolean.TRUE);
         }
 
         @Override
         public void onActivityResumed(@NonNull Activity activity) {
+            if (getResumedActivity() != activity) {
+                mResumedActivity = new WeakReference<>(activity);
+            }
         }
 
         @Override
         public void onActivityPaused(@NonNull Activity activity) {
+            if (getResumedActivity() == activity) {
+                mResumedActivity = null;
+            }
         }
 
         @Override
         public void onActivityStopped(@NonNull Activity activity) {
+            mStartedActivities.remove(activity);
         }
 
         @Override
         public void onActivityDestroyed(@NonNull Activity activity) {
-            final int size = mActivityStack.size();
-            for (int i = size - 1; i >= 0; i--) {
-                WeakReference<Activity> ref = mActivityStack.get(i);
-                if (ref.get() == null || ref.get() == activity) {
-                    ref.clear();
-                    mActivityStack.remove(i);
-                }
+            removeFromStack(activity);
+            removeFromIndex(activity);
+            mStartedActivities.remove(activity);
+            if (getResumedActivity() == activity) {
+                mResumedActivity = null;
             }
         }
 
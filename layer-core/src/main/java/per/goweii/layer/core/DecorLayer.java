@@ -11,6 +11,7 @@ import android.widget.FrameLayout;
 
 import androidx.annotation.CallSuper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
@@ -21,6 +22,8 @@ public class DecorLayer extends FrameLayer {
     private final Activity mActivity;
 
     private final Rect mInsets = new Rect();
+    private final Rect mFittedInsets = new Rect();
+    private boolean mInsetsFitted = false;
     private final Rect mTempRect = new Rect();
 
     private Runnable mShowRunnable = null;
@@ -85,14 +88,25 @@ public class DecorLayer extends FrameLayer {
     @Override
     protected void onAttach() {
         super.onAttach();
-        getDecorInsets(mInsets);
-        fitDecorInsets(mInsets);
+        final LayerManager layerManager = Layers.peekLayerManager();
+        if (layerManager != null) {
+            layerManager.register(mActivity, getRealLevel(), this);
+        }
+        final LayerRootLayout layerRootLayout = getViewHolder().getLayerRootLayout();
+        if (layerRootLayout != null) {
+            layerRootLayout.updateRootInsets();
+        }
+        updateDecorInsets(true);
     }
 
     @CallSuper
     @Override
     protected void onDetach() {
         super.onDetach();
+        final LayerManager layerManager = Layers.peekLayerManager();
+        if (layerManager != null) {
+            layerManager.unregister(this);
+        }
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             ViewCompat.setOnApplyWindowInsetsListener(getViewHolder().getChild(), null);
         }
@@ -105,26 +119,77 @@ public class DecorLayer extends FrameLayer {
             @Override
             public void run() {
                 if (!mActivity.isDestroyed() && isShown()) {
-                    getDecorInsets(mInsets);
-                    fitDecorInsets(mInsets);
+                    updateDecorInsets(true);
                 }
             }
         });
     }
 
+    @Override
+    protected void onWindowInsetsChanged() {
+        super.onWindowInsetsChanged();
+        if (!mActivity.isDestroyed() && isShown()) {
+            updateDecorInsets(false);
+        }
+    }
+
     @Override
     protected void onGlobalLayout() {
         super.onGlobalLayout();
-        if (!mActivity.isDestroyed() && isShown()) {
-            getDecorInsets(mInsets);
-            fitDecorInsets(mInsets);
+        // 5.0以下没有WindowInsets，边距来自DecorView子控件，仍需在布局时检查
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            if (!mActivity.isDestroyed() && isShown()) {
+                updateDecorInsets(false);
+            }
         }
     }
 
+    /**
+     * 边距有变化时才调用{@link #fitDecorInsets(Rect)}，避免重复设置padding引起额外布局
+     */
+    private void updateDecorInsets(boolean force) {
+        getDecorInsets(mInsets);
+        if (!force && mInsetsFitted && mFittedInsets.equals(mInsets)) {
+            return;
+        }
+        mFittedInsets.set(mInsets);
+        mInsetsFitted = true;
+        fitDecorInsets(mInsets);
+    }
+
+    @Nullable
+    @Override
+    protected Layer findTopCancelableOnKeyBack() {
+        final LayerManager layerManager = Layers.peekLayerManager();
+        if (layerManager == null) {
+            return super.findTopCancelableOnKeyBack();
+        }
+        return layerManager.findTopCancelable(mActivity);
+    }
+
     protected final void getDecorInsets(@NonNull Rect insets) {
+        // 同一次布局分发中所有浮层的窗口边距相同，只计算一次
+        final LayerRootLayout layerRootLayout = getViewHolder().getLayerRootLayout();
+        if (layerRootLayout != null && layerRootLayout.getFrameInsets(insets)) {
+            return;
+        }
+        computeDecorInsets(insets);
+        if (layerRootLayout != null) {
+            layerRootLayout.setFrameInsets(insets);
+        }
+    }
+
+    private void computeDecorInsets(@NonNull Rect insets) {
         insets.setEmpty();
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            WindowInsetsCompat windowInsets = ViewCompat.getRootWindowInsets(getViewHolder().getDecor());
+            WindowInsetsCompat windowInsets = null;
+            final LayerRootLayout layerRootLayout = getViewHolder().getLayerRootLayout();
+            if (layerRootLayout != null) {
+                windowInsets = layerRootLayout.getRootInsets();
+            }
+            if (windowInsets == null) {
+                windowInsets = ViewCompat.getRootWindowInsets(getViewHolder().getDecor());
+            }
             if (windowInsets != null) {
                 Insets realInsets = windowInsets.getInsets(WindowInsetsCompat.Type.systemBars() | WindowInsetsCompat.Type.ime() | WindowInsetsCompat.Type.displayCutout());
                 insets.set(realInsets.left, realInsets.top, realInsets.right, realInsets.bottom);
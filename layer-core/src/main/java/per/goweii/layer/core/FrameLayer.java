@@ -3,15 +3,23 @@ package per.goweii.layer.core;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.Configuration;
+import android.graphics.Rect;
+import android.os.Build;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewParent;
+import android.view.ViewTreeObserver;
 import android.widget.FrameLayout;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.view.OnApplyWindowInsetsListener;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -26,6 +34,18 @@ public class FrameLayer extends Layer {
         return layerRootLayout.getLayers();
     }
 
+    /**
+     * 从上到下遍历view所在LayerRootLayout中的浮层，不创建新的集合
+     *
+     * @return 终止遍历时的浮层，遍历完成返回null
+     */
+    @Nullable
+    public static Layer forEachLayer(@NonNull View view, @NonNull LayerVisitor visitor) {
+        LayerRootLayout layerRootLayout = findLayerRootLayout(view);
+        if (layerRootLayout == null) return null;
+        return layerRootLayout.forEachLayer(visitor);
+    }
+
     @Nullable
     public static LayerRootLayout findLayerRootLayout(@NonNull View view) {
         while (true) {
@@ -44,6 +64,9 @@ public class FrameLayer extends Layer {
 
     private final LayerRootLayout.OnConfigurationChangedListener
             mOnConfigurationChangedListener = new OnConfigurationChangedListenerImpl();
+    private final LayerVisitor mKeyBackVisitor = new KeyBackVisitor();
+
+    private LayerRootLayout mFrameDispatcherLayout = null;
 
     public FrameLayer(@NonNull FrameLayout frameLayout) {
         super();
@@ -113,37 +136,65 @@ public class FrameLayer extends Layer {
     protected void onConfigurationChanged(@NonNull Configuration newConfig) {
     }
 
+    /**
+     * 所在窗口的WindowInsets发生变化，同一LayerRootLayout下的浮层共用一份缓存
+     */
+    protected void onWindowInsetsChanged() {
+    }
+
+    @Override
+    protected void registerFrameCallbacks() {
+        LayerRootLayout layerRootLayout = getViewHolder().getLayerRootLayout();
+        if (layerRootLayout == null) {
+            super.registerFrameCallbacks();
+            return;
+        }
+        mFrameDispatcherLayout = layerRootLayout;
+        layerRootLayout.subscribeFrameCallbacks(this);
+    }
+
     @Override
-    protected void onGlobalLayout() {
-        super.onGlobalLayout();
-        ensureLayerLayoutIsFront();
+    protected void unregisterFrameCallbacks() {
+        if (mFrameDispatcherLayout == null) {
+            super.unregisterFrameCallbacks();
+            return;
+        }
+        mFrameDispatcherLayout.unsubscribeFrameCallbacks(this);
+        mFrameDispatcherLayout = null;
     }
 
     @Override
     protected boolean onKeyBack() {
-        LayerRootLayout layerRootLayout = getViewHolder().getLayerRootLayout();
-        if (layerRootLayout != null) {
-            for (int i = layerRootLayout.getChildCount() - 1; i >= 0; i--) {
-                View layerRootChild = layerRootLayout.getChildAt(i);
-                if (layerRootChild instanceof LayerLevelLayout) {
-                    LayerLevelLayout layerLevelLayout = (LayerLevelLayout) layerRootChild;
-                    for (int j = layerLevelLayout.getChildCount() - 1; j >= 0; j--) {
-                        View layerLevelChild = layerLevelLayout.getChildAt(j);
-                        Object tag = layerLevelChild.getTag(R.id.layer_tag);
-                        if (tag instanceof Layer) {
-                            Layer layer = (Layer) tag;
-                            if (layer.isCancelableOnKeyBack()) {
-                                layer.dismiss();
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
+        Layer layer = findTopCancelableOnKeyBack();
+        if (layer != null) {
+            layer.dismiss();
+            return true;
         }
         return super.onKeyBack();
     }
 
+    @Nullable
+    @Override
+    protected Layer findBackProgressTarget() {
+        Layer layer = findTopCancelableOnKeyBack();
+        if (layer != null) {
+            return layer;
+        }
+        return super.findBackProgressTarget();
+    }
+
+    /**
+     * 最上层的可以被返回键关闭的浮层
+     */
+    @Nullable
+    protected Layer findTopCancelableOnKeyBack() {
+        LayerRootLayout layerRootLayout = getViewHolder().getLayerRootLayout();
+        if (layerRootLayout == null) {
+            return null;
+        }
+        return layerRootLayout.forEachLayer(mKeyBackVisitor);
+    }
+
     @NonNull
     protected ViewGroup.LayoutParams generateDefaultLayoutParams() {
         return new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
@@ -173,6 +224,7 @@ public class FrameLayer extends Layer {
             ((ViewGroup) layerRootLayout.getParent()).removeView(layerRootLayout);
             getViewHolder().getRoot().addView(layerRootLayout);
         }
+        getViewHolder().getRoot().setTag(R.id.layer_root_tag, layerRootLayout);
         layerRootLayout.registerOnConfigurationChangedListener(mOnConfigurationChangedListener);
         LayerLevelLayout layerLevelLayout = findLevelLayoutFromLayerLayout(layerRootLayout);
         if (layerLevelLayout == null) layerLevelLayout = tryGetLevelLayoutFormHolder();
@@ -197,31 +249,26 @@ public class FrameLayer extends Layer {
         }
         if (layerRootLayout.getChildCount() == 0) {
             getViewHolder().getRoot().removeView(layerRootLayout);
+            getViewHolder().getRoot().setTag(R.id.layer_root_tag, null);
         }
     }
 
-    private void ensureLayerLayoutIsFront() {
-        final ViewGroup root = getViewHolder().getRoot();
-        int count = root.getChildCount();
-        if (count <= 1) return;
-        LayerRootLayout layerRootLayout = findLayerLayoutFromRoot();
-        if (layerRootLayout == null) return;
-        int index = root.indexOfChild(layerRootLayout);
-        if (index < 0) return;
-        if (index == count - 1) return;
-        layerRootLayout.bringToFront();
-    }
-
     @Nullable
     private LayerRootLayout findLayerLayoutFromRoot() {
         final ViewGroup root = getViewHolder().getRoot();
         LayerRootLayout layerRootLayout = null;
-        final int count = root.getChildCount();
-        for (int i = count; i >= 0; i--) {
-            View child = root.getChildAt(i);
-            if (child instanceof LayerRootLayout) {
-                layerRootLayout = (LayerRootLayout) child;
-                break;
+        final Object tag = root.getTag(R.id.layer_root_tag);
+        if (tag instanceof LayerRootLayout && ((LayerRootLayout) tag).getParent() == root) {
+            layerRootLayout = (LayerRootLayout) tag;
+        } else {
+            final int count = root.getChildCount();
+            for (int i = count - 1; i >= 0; i--) {
+                View child = root.getChildAt(i);
+                if (child instanceof LayerRootLayout) {
+                    layerRootLayout = (LayerRootLayout) child;
+                    root.setTag(R.id.layer_root_tag, layerRootLayout);
+                    break;
+                }
             }
         }
         if (layerRootLayout != null) {
@@ -286,6 +333,13 @@ public class FrameLayer extends Layer {
         return layerLevelLayout;
     }
 
+    private static class KeyBackVisitor implements LayerVisitor {
+        @Override
+        public boolean visit(@NonNull Layer layer) {
+            return layer.isCancelableOnKeyBack();
+        }
+    }
+
     private class OnConfigurationChangedListenerImpl implements LayerRootLayout.OnConfigurationChangedListener {
         @Override
         public void onConfigurationChanged(@NonNull Configuration newConfig) {
@@ -337,6 +391,16 @@ public class FrameLayer extends Layer {
         protected int mLevel = -1;
     }
 
+    /**
+     * 浮层遍历器，可在遍历中途dismiss浮层
+     */
+    public interface LayerVisitor {
+        /**
+         * @return true终止遍历
+         */
+        boolean visit(@NonNull Layer layer);
+    }
+
     protected static class ListenerHolder extends Layer.ListenerHolder {
     }
 
@@ -360,23 +424,220 @@ public class FrameLayer extends Layer {
     public static class LayerRootLayout extends FrameLayout {
         private final LinkedList<OnConfigurationChangedListener> mOnConfigurationChangedListeners = new LinkedList<>();
 
+        /**
+         * 按level升序排列的LevelLayout索引，通过OnHierarchyChangeListener与子控件保持同步
+         */
+        private int[] mLevels = new int[8];
+        private LayerLevelLayout[] mLevelLayouts = new LayerLevelLayout[8];
+        private int mLevelCount = 0;
+
+        private OnHierarchyChangeListener mOnHierarchyChangeListener = null;
+
+        /**
+         * 所有浮层共用一组ViewTreeObserver监听，每次布局/绘制只分发一次
+         */
+        private final FrameDispatcher mFrameDispatcher = new FrameDispatcher();
+        private final ArrayList<FrameLayer> mFrameSubscribers = new ArrayList<>();
+        private FrameLayer[] mFrameDispatching = new FrameLayer[0];
+        private boolean mFrameListenersRegistered = false;
+
+        private WindowInsetsCompat mRootInsets = null;
+
+        private final Rect mFrameInsets = new Rect();
+        private boolean mDispatchingLayout = false;
+        private boolean mFrameInsetsValid = false;
+
         public LayerRootLayout(@NonNull Context context) {
             super(context);
+            super.setOnHierarchyChangeListener(new LevelIndexUpdater());
+            ViewCompat.setOnApplyWindowInsetsListener(this, new RootInsetsUpdater());
+        }
+
+        @Override
+        public void setOnHierarchyChangeListener(OnHierarchyChangeListener listener) {
+            mOnHierarchyChangeListener = listener;
+        }
+
+        @Override
+        protected void onAttachedToWindow() {
+            super.onAttachedToWindow();
+            updateFrameListeners(true);
         }
 
+        @Override
+        protected void onDetachedFromWindow() {
+            updateFrameListeners(false);
+            super.onDetachedFromWindow();
+        }
+
+        protected void subscribeFrameCallbacks(@NonNull FrameLayer layer) {
+            if (!mFrameSubscribers.contains(layer)) {
+                mFrameSubscribers.add(layer);
+            }
+            updateFrameListeners(ViewCompat.isAttachedToWindow(this));
+        }
+
+        protected void unsubscribeFrameCallbacks(@NonNull FrameLayer layer) {
+            mFrameSubscribers.remove(layer);
+            updateFrameListeners(ViewCompat.isAttachedToWindow(this));
+        }
+
+        @SuppressLint("ObsoleteSdkInt")
+        private void updateFrameListeners(boolean attached) {
+            final boolean register = attached && !mFrameSubscribers.isEmpty();
+            if (register == mFrameListenersRegistered) return;
+            final ViewTreeObserver observer = getViewTreeObserver();
+            if (!observer.isAlive()) return;
+            if (register) {
+                observer.addOnGlobalLayoutListener(mFrameDispatcher);
+                observer.addOnPreDrawListener(mFrameDispatcher);
+            } else {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                    observer.removeOnGlobalLayoutListener(mFrameDispatcher);
+                } else {
+                    observer.removeGlobalOnLayoutListener(mFrameDispatcher);
+                }
+                observer.removeOnPreDrawListener(mFrameDispatcher);
+            }
+            mFrameListenersRegistered = register;
+        }
+
+        /**
+         * 缓存的根WindowInsets，由OnApplyWindowInsetsListener更新
+         */
         @Nullable
-        public LayerLevelLayout findLevelLayout(int level) {
-            final int count = getChildCount();
+        public WindowInsetsCompat getRootInsets() {
+            return mRootInsets;
+        }
+
+        /**
+         * 重新读取根WindowInsets
+         *
+         * @return 是否有变化
+         */
+        protected boolean updateRootInsets() {
+            final WindowInsetsCompat insets = ViewCompat.getRootWindowInsets(this);
+            if (mRootInsets == null ? insets == null : mRootInsets.equals(insets)) {
+                return false;
+            }
+            mRootInsets = insets;
+            return true;
+        }
+
+        private void dispatchWindowInsetsChanged() {
+            final int count = snapshotFrameSubscribers();
+            try {
+                for (int i = 0; i < count; i++) {
+                    final FrameLayer layer = mFrameDispatching[i];
+                    if (layer.isShown()) {
+                        layer.onWindowInsetsChanged();
+                    }
+                }
+            } finally {
+                Arrays.fill(mFrameDispatching, 0, count, null);
+            }
+        }
+
+        /**
+         * 获取本次布局分发中已计算的窗口边距，仅在{@link Layer#onGlobalLayout()}中有效
+         *
+         * @return 是否已有缓存
+         */
+        boolean getFrameInsets(@NonNull Rect insets) {
+            if (!mDispatchingLayout || !mFrameInsetsValid) return false;
+            insets.set(mFrameInsets);
+            return true;
+        }
+
+        void setFrameInsets(@NonNull Rect insets) {
+            if (!mDispatchingLayout) return;
+            mFrameInsets.set(insets);
+            mFrameInsetsValid = true;
+        }
+
+        private void ensureIsFront() {
+            final ViewParent parent = getParent();
+            if (!(parent instanceof ViewGroup)) return;
+            final ViewGroup root = (ViewGroup) parent;
+            final int count = root.getChildCount();
+            if (count <= 1) return;
+            if (root.getChildAt(count - 1) == this) return;
+            bringToFront();
+        }
+
+        private int snapshotFrameSubscribers() {
+            final int count = mFrameSubscribers.size();
+            if (mFrameDispatching.length < count) {
+                mFrameDispatching = new FrameLayer[count];
+            }
             for (int i = 0; i < count; i++) {
-                View child = getChildAt(i);
-                if (child instanceof LayerLevelLayout) {
-                    LayerLevelLayout layerLevelLayout = (LayerLevelLayout) child;
-                    if (level == layerLevelLayout.getLevel()) {
-                        return layerLevelLayout;
+                mFrameDispatching[i] = mFrameSubscribers.get(i);
+            }
+            return count;
+        }
+
+        private void dispatchGlobalLayout() {
+            ensureIsFront();
+            // 11以下WindowInsets被兄弟控件消费后不会继续分发，布局时补充检查
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+                    && Build.VERSION.SDK_INT < Build.VERSION_CODES.R) {
+                if (updateRootInsets()) {
+                    dispatchWindowInsetsChanged();
+                }
+            }
+            final int count = snapshotFrameSubscribers();
+            mDispatchingLayout = true;
+            mFrameInsetsValid = false;
+            try {
+                for (int i = 0; i < count; i++) {
+                    final FrameLayer layer = mFrameDispatching[i];
+                    // 分发过程中可能有浮层被移除
+                    if (layer.isShown()) {
+                        layer.onGlobalLayout();
                     }
                 }
+            } finally {
+                mDispatchingLayout = false;
+                mFrameInsetsValid = false;
+                Arrays.fill(mFrameDispatching, 0, count, null);
             }
-            return null;
+        }
+
+        private boolean dispatchPreDraw() {
+            final int count = snapshotFrameSubscribers();
+            boolean proceed = true;
+            try {
+                for (int i = 0; i < count; i++) {
+                    final FrameLayer layer = mFrameDispatching[i];
+                    if (layer.isShown() && !layer.onGlobalPreDraw()) {
+                        proceed = false;
+                    }
+                }
+            } finally {
+                Arrays.fill(mFrameDispatching, 0, count, null);
+            }
+            return proceed;
+        }
+
+        @Nullable
+        public LayerLevelLayout findLevelLayout(int level) {
+            final int index = Arrays.binarySearch(mLevels, 0, mLevelCount, level);
+            if (index < 0) {
+                return null;
+            }
+            return mLevelLayouts[index];
+        }
+
+        public int getLevelLayoutCount() {
+            return mLevelCount;
+        }
+
+        /**
+         * @param index 按level升序的索引
+         */
+        @NonNull
+        public LayerLevelLayout getLevelLayoutAt(int index) {
+            return mLevelLayouts[index];
         }
 
         @Override
@@ -385,24 +646,50 @@ public class FrameLayer extends Layer {
                 super.addView(child, index, params);
                 return;
             }
-            int lastIndex = -1;
             LayerLevelLayout layerLevelLayout = (LayerLevelLayout) child;
-            final int count = getChildCount();
-            for (int i = 0; i < count; i++) {
-                lastIndex = i;
-                View iChild = getChildAt(i);
-                if (iChild instanceof LayerLevelLayout) {
-                    LayerLevelLayout iLayerLevelLayout = (LayerLevelLayout) iChild;
-                    int compare = layerLevelLayout.compareTo(iLayerLevelLayout);
-                    if (compare == 0) {
-                        throw new RuntimeException("已经存在相同level：" + layerLevelLayout.mLevel + "的LevelLayout");
-                    } else if (compare < 0) {
-                        lastIndex--;
-                        break;
-                    }
-                }
+            int search = Arrays.binarySearch(mLevels, 0, mLevelCount, layerLevelLayout.mLevel);
+            if (search >= 0) {
+                throw new RuntimeException("已经存在相同level：" + layerLevelLayout.mLevel + "的LevelLayout");
+            }
+            final int rank = -(search + 1);
+            final int childIndex;
+            if (rank >= mLevelCount) {
+                childIndex = -1;
+            } else if (mLevelCount == getChildCount()) {
+                childIndex = rank;
+            } else {
+                childIndex = indexOfChild(mLevelLayouts[rank]);
+            }
+            super.addView(layerLevelLayout, childIndex, params);
+        }
+
+        private void insertLevelLayout(@NonNull LayerLevelLayout layerLevelLayout) {
+            int search = Arrays.binarySearch(mLevels, 0, mLevelCount, layerLevelLayout.mLevel);
+            if (search >= 0) {
+                mLevelLayouts[search] = layerLevelLayout;
+                return;
             }
-            super.addView(layerLevelLayout, lastIndex + 1, params);
+            final int rank = -(search + 1);
+            if (mLevelCount == mLevels.length) {
+                mLevels = Arrays.copyOf(mLevels, mLevelCount * 2);
+                mLevelLayouts = Arrays.copyOf(mLevelLayouts, mLevelCount * 2);
+            }
+            System.arraycopy(mLevels, rank, mLevels, rank + 1, mLevelCount - rank);
+            System.arraycopy(mLevelLayouts, rank, mLevelLayouts, rank + 1, mLevelCount - rank);
+            mLevels[rank] = layerLevelLayout.mLevel;
+            mLevelLayouts[rank] = layerLevelLayout;
+            mLevelCount++;
+        }
+
+        private void removeLevelLayout(@NonNull LayerLevelLayout layerLevelLayout) {
+            final int index = Arrays.binarySearch(mLevels, 0, mLevelCount, layerLevelLayout.mLevel);
+            if (index < 0 || mLevelLayouts[index] != layerLevelLayout) {
+                return;
+            }
+            System.arraycopy(mLevels, index + 1, mLevels, index, mLevelCount - index - 1);
+            System.arraycopy(mLevelLayouts, index + 1, mLevelLayouts, index, mLevelCount - index - 1);
+            mLevelCount--;
+            mLevelLayouts[mLevelCount] = null;
         }
 
         @Override
@@ -421,6 +708,24 @@ public class FrameLayer extends Layer {
             mOnConfigurationChangedListeners.remove(listener);
         }
 
+        /**
+         * 按level从高到低、同level内从上到下遍历浮层
+         *
+         * @return 终止遍历时的浮层，遍历完成返回null
+         */
+        @Nullable
+        public Layer forEachLayer(@NonNull LayerVisitor visitor) {
+            int i = mLevelCount - 1;
+            while (i >= 0) {
+                Layer layer = mLevelLayouts[i].forEachLayer(visitor);
+                if (layer != null) {
+                    return layer;
+                }
+                i = Math.min(i, mLevelCount) - 1;
+            }
+            return null;
+        }
+
         @NonNull
         public List<Layer> getLayers() {
             List<Layer> layers = new LinkedList<>();
@@ -437,6 +742,51 @@ public class FrameLayer extends Layer {
         public interface OnConfigurationChangedListener {
             void onConfigurationChanged(@NonNull Configuration newConfig);
         }
+
+        private class RootInsetsUpdater implements OnApplyWindowInsetsListener {
+            @NonNull
+            @Override
+            public WindowInsetsCompat onApplyWindowInsets(@NonNull View v, @NonNull WindowInsetsCompat insets) {
+                if (updateRootInsets()) {
+                    dispatchWindowInsetsChanged();
+                }
+                return insets;
+            }
+        }
+
+        private class FrameDispatcher implements ViewTreeObserver.OnGlobalLayoutListener, ViewTreeObserver.OnPreDrawListener {
+            @Override
+            public void onGlobalLayout() {
+                dispatchGlobalLayout();
+            }
+
+            @Override
+            public boolean onPreDraw() {
+                return dispatchPreDraw();
+            }
+        }
+
+        private class LevelIndexUpdater implements OnHierarchyChangeListener {
+            @Override
+            public void onChildViewAdded(View parent, View child) {
+                if (child instanceof LayerLevelLayout) {
+                    insertLevelLayout((LayerLevelLayout) child);
+                }
+                if (mOnHierarchyChangeListener != null) {
+                    mOnHierarchyChangeListener.onChildViewAdded(parent, child);
+                }
+            }
+
+            @Override
+            public void onChildViewRemoved(View parent, View child) {
+                if (child instanceof LayerLevelLayout) {
+                    removeLevelLayout((LayerLevelLayout) child);
+                }
+                if (mOnHierarchyChangeListener != null) {
+                    mOnHierarchyChangeListener.onChildViewRemoved(parent, child);
+                }
+            }
+        }
     }
 
     /**
@@ -466,6 +816,28 @@ public class FrameLayer extends Layer {
             return mLevel - mOtherLevel;
         }
 
+        /**
+         * 从上到下遍历该层级的浮层
+         *
+         * @return 终止遍历时的浮层，遍历完成返回null
+         */
+        @Nullable
+        public Layer forEachLayer(@NonNull LayerVisitor visitor) {
+            int i = getChildCount() - 1;
+            while (i >= 0) {
+                Object tag = getChildAt(i).getTag(R.id.layer_tag);
+                if (tag instanceof Layer) {
+                    Layer layer = (Layer) tag;
+                    if (visitor.visit(layer)) {
+                        return layer;
+                    }
+                }
+                // 遍历中可能有浮层被移除
+                i = Math.min(i, getChildCount()) - 1;
+            }
+            return null;
+        }
+
         @NonNull
         public List<Layer> getLayers() {
             List<Layer> layers = new LinkedList<>();
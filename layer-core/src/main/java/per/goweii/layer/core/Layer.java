@@ -10,8 +10,10 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewParent;
 import android.view.ViewTreeObserver;
+import android.widget.FrameLayout;
 
 import androidx.annotation.CallSuper;
+import androidx.annotation.FloatRange;
 import androidx.annotation.IdRes;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
@@ -19,11 +21,17 @@ import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+import per.goweii.layer.core.anim.AnimatorHelper;
+import per.goweii.layer.core.anim.HardwareLayerPromoter;
 import per.goweii.layer.core.listener.DefaultAnimatorListener;
 import per.goweii.layer.core.utils.Utils;
 
 public class Layer {
+    private static Executor sPreInflateExecutor = null;
 
     @NonNull
     public static <T extends Layer> T requireLayer(@NonNull View view) {
@@ -55,9 +63,13 @@ public class Layer {
     private final ViewTreeObserver.OnPreDrawListener mOnGlobalPreDrawListener = new OnGlobalPreDrawListener();
     private final ViewTreeObserver.OnGlobalLayoutListener mOnGlobalLayoutListener = new OnGlobalLayoutListener();
     private final ViewManager.OnKeyListener mOnViewKeyListener = new OnViewKeyListener();
+    private final ViewManager.OnBackProgressListener mOnBackProgressListener = new OnBackProgressListener();
 
     private final Runnable mInAnimEndCallback = new OnInAnimEndCallback();
     private final Runnable mOutAnimEndCallback = new OnOutAnimEndCallback();
+    private final Animator.AnimatorListener mInAnimatorListener = new InAnimatorListener();
+    private final Animator.AnimatorListener mOutAnimatorListener = new OutAnimatorListener();
+    private final Animator.AnimatorListener mSeekAnimatorListener = new SeekAnimatorListener();
 
     private final ViewManager mViewManager;
 
@@ -72,11 +84,33 @@ public class Layer {
 
     private Animator mAnimatorIn = null;
     private Animator mAnimatorOut = null;
+    /**
+     * 由{@link #setShowProgress(float)}定位的进入动画
+     */
+    private Animator mAnimatorSeek = null;
+    private float mShowProgress = 1F;
+    /**
+     * 跟随返回手势的浮层，可能是其他浮层，见{@link #findBackProgressTarget()}
+     */
+    private Layer mBackProgressTarget = null;
+
+    private AnimatorCache mInAnimatorCache = null;
+    private AnimatorCache mOutAnimatorCache = null;
+    /**
+     * 子控件处于显示后的静止状态，即进入动画正常结束且未被其他动画打断
+     */
+    private boolean mAnimatorRestState = false;
+
+    private HardwareLayerPromoter mHardwareLayerPromoter = null;
 
     private boolean mInitialized = false;
 
     private boolean mViewCacheable = false;
 
+    private PreInflateTask mPreInflateTask = null;
+
+    private LayerTraceSession mTraceSession = null;
+
     public Layer() {
         mViewManager = new ViewManager();
         mConfig = onCreateConfig();
@@ -124,13 +158,16 @@ public class Layer {
             View child = onCreateChild(getLayoutInflater(), mViewHolder.getParent());
             mViewHolder.setChild(child);
         }
+        mPreInflateTask = null;
         ViewGroup.LayoutParams layoutParams = mViewHolder.getChild().getLayoutParams();
         if (layoutParams == null) {
             mViewHolder.getChild().setLayoutParams(generateDefaultLayoutParams());
         }
         mViewManager.setParent(mViewHolder.getParent());
         mViewManager.setChild(mViewHolder.getChild());
+        mViewManager.setBackPressedDispatcherEnabled(mConfig.mBackPressedDispatcherEnabled);
         mViewManager.setOnKeyListener(mConfig.mInterceptKeyEvent ? mOnViewKeyListener : null);
+        mViewManager.setOnBackProgressListener(mConfig.mInterceptKeyEvent ? mOnBackProgressListener : null);
         if (!mInitialized) {
             mInitialized = true;
             mListenerHolder.notifyOnInitialize(this);
@@ -140,10 +177,7 @@ public class Layer {
     @CallSuper
     protected void onAttach() {
         getViewHolder().getChild().setTag(R.id.layer_tag, this);
-        if (getViewTreeObserver().isAlive()) {
-            getViewTreeObserver().addOnGlobalLayoutListener(mOnGlobalLayoutListener);
-            getViewTreeObserver().addOnPreDrawListener(mOnGlobalPreDrawListener);
-        }
+        registerFrameCallbacks();
         mListenerHolder.bindOnClickListeners(this);
         mListenerHolder.bindOnLongClickListeners(this);
         mListenerHolder.notifyOnVisibleChangeToShow(this);
@@ -170,10 +204,26 @@ public class Layer {
         mListenerHolder.notifyOnPostDismiss(this);
     }
 
-    @SuppressLint("ObsoleteSdkInt")
     @CallSuper
     protected void onDetach() {
         getListenerHolder().notifyOnVisibleChangeToDismiss(this);
+        unregisterFrameCallbacks();
+        getViewHolder().getChild().setTag(R.id.layer_tag, null);
+    }
+
+    /**
+     * 注册{@link #onGlobalLayout()}和{@link #onGlobalPreDraw()}回调
+     * 子类可改为由共享的分发器统一回调
+     */
+    protected void registerFrameCallbacks() {
+        if (getViewTreeObserver().isAlive()) {
+            getViewTreeObserver().addOnGlobalLayoutListener(mOnGlobalLayoutListener);
+            getViewTreeObserver().addOnPreDrawListener(mOnGlobalPreDrawListener);
+        }
+    }
+
+    @SuppressLint("ObsoleteSdkInt")
+    protected void unregisterFrameCallbacks() {
         if (getViewTreeObserver().isAlive()) {
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
                 getViewTreeObserver().removeOnGlobalLayoutListener(mOnGlobalLayoutListener);
@@ -182,7 +232,6 @@ public class Layer {
             }
             getViewTreeObserver().removeOnPreDrawListener(mOnGlobalPreDrawListener);
         }
-        getViewHolder().getChild().setTag(R.id.layer_tag, null);
     }
 
     @CallSuper
@@ -192,10 +241,12 @@ public class Layer {
             mViewHolder.setParent(null);
             onDestroyChild();
             mViewHolder.setChild(null);
+            clearAnimatorCache();
         }
         mViewManager.setParent(null);
         mViewManager.setChild(null);
         mViewManager.setOnKeyListener(null);
+        mViewManager.setOnBackProgressListener(null);
     }
 
     @NonNull
@@ -215,12 +266,65 @@ public class Layer {
             return mConfig.mChildView;
         }
         if (mConfig.mChildLayoutId != View.NO_ID) {
-            return inflater.inflate(mConfig.mChildLayoutId, parent, false);
+            return inflateLayout(inflater, mConfig.mChildLayoutId, parent);
         }
         throw new IllegalStateException("未设置子控件");
     }
 
     protected void onDestroyChild() {
+        View child = mViewHolder.getChildOrNull();
+        if (child != null) {
+            recycleLayout(child);
+        }
+    }
+
+    /**
+     * 加载布局，设置了{@link LayerViewPool}时优先从复用池中获取
+     */
+    @NonNull
+    protected final View inflateLayout(@NonNull LayoutInflater inflater, @LayoutRes int layoutId, @NonNull ViewGroup parent) {
+        final PreInflateTask task = mPreInflateTask;
+        mPreInflateTask = null;
+        if (task != null && task.mLayoutId == layoutId) {
+            final View view = task.mView;
+            if (view != null) {
+                if (mConfig.mViewPool != null) {
+                    mConfig.mViewPool.adopt(view, layoutId, inflater);
+                }
+                return view;
+            }
+        }
+        if (mConfig.mViewPool != null) {
+            return mConfig.mViewPool.acquire(inflater, layoutId, parent);
+        }
+        return inflater.inflate(layoutId, parent, false);
+    }
+
+    /**
+     * 将{@link #inflateLayout}加载的布局放回复用池，并解绑该浮层设置的点击事件
+     *
+     * @return 是否已放回复用池，放回后不能再持有该View
+     */
+    protected final boolean recycleLayout(@NonNull View view) {
+        if (mConfig.mViewPool == null) {
+            return false;
+        }
+        if (!mConfig.mViewPool.release(view)) {
+            return false;
+        }
+        mListenerHolder.unbindListeners(this, view);
+        return true;
+    }
+
+    /**
+     * 需要提前加载的布局ID，{@link View#NO_ID}为不需要
+     */
+    @LayoutRes
+    protected int getPreInflateLayoutId() {
+        if (mConfig.mChildView != null) {
+            return View.NO_ID;
+        }
+        return mConfig.mChildLayoutId;
     }
 
     @NonNull
@@ -261,6 +365,47 @@ public class Layer {
         return true;
     }
 
+    /**
+     * 预测性返回手势开始时调用，返回的浮层按手势进度定位进入动画，应和{@link #onKeyBack()}关闭的浮层一致
+     *
+     * @return null为不跟随手势，手势完成时按返回键处理
+     */
+    @Nullable
+    protected Layer findBackProgressTarget() {
+        if (getConfig().mCancelableOnKeyBack) {
+            return this;
+        }
+        return null;
+    }
+
+    private void handleBackStarted() {
+        mBackProgressTarget = findBackProgressTarget();
+    }
+
+    private void handleBackProgressed(float progress) {
+        if (mBackProgressTarget != null) {
+            mBackProgressTarget.setShowProgress(1F - progress);
+        }
+    }
+
+    private void handleBackCancelled() {
+        final Layer target = mBackProgressTarget;
+        mBackProgressTarget = null;
+        if (target != null) {
+            target.animateToShown();
+        }
+    }
+
+    private boolean handleBackInvoked() {
+        final Layer target = mBackProgressTarget;
+        mBackProgressTarget = null;
+        if (target == null || !target.isShown()) {
+            return false;
+        }
+        target.animateToDismissed();
+        return true;
+    }
+
     protected void onGlobalLayout() {
     }
 
@@ -271,13 +416,29 @@ public class Layer {
     private void handleShow() {
         if (isShown()) {
             if (isOutAnimRunning()) {
+                if (mTraceSession != null) {
+                    mTraceSession.beginShow();
+                }
                 startAnimatorIn();
             }
             return;
         }
+        final LayerTraceSession trace = obtainTraceSession();
+        if (trace != null) {
+            trace.beginShow();
+            trace.beginSection(LayerMetrics.Phase.INFLATE);
+        }
         onCreate();
+        if (trace != null) {
+            trace.endSection(LayerMetrics.Phase.INFLATE);
+            trace.beginSection(LayerMetrics.Phase.ATTACH);
+        }
         mViewManager.attach();
         onAttach();
+        if (trace != null) {
+            trace.endSection(LayerMetrics.Phase.ATTACH);
+            trace.beginPhase(LayerMetrics.Phase.FIRST_PRE_DRAW);
+        }
         getViewHolder().getChild().setVisibility(View.VISIBLE);
         if (mShowOnPreDrawListener == null) {
             mShowOnPreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
@@ -287,6 +448,9 @@ public class Layer {
                         getViewTreeObserver().removeOnPreDrawListener(this);
                     }
                     mShowOnPreDrawListener = null;
+                    if (mTraceSession != null) {
+                        mTraceSession.endPhase(LayerMetrics.Phase.FIRST_PRE_DRAW);
+                    }
                     onPreShow();
                     startAnimatorIn();
                     return true;
@@ -296,24 +460,29 @@ public class Layer {
         getViewTreeObserver().addOnPreDrawListener(mShowOnPreDrawListener);
     }
 
+    @Nullable
+    private LayerTraceSession obtainTraceSession() {
+        final LayerTracer tracer = Layers.peekTracer();
+        if (tracer == null) {
+            mTraceSession = null;
+        } else if (mTraceSession == null || mTraceSession.getTracer() != tracer) {
+            mTraceSession = new LayerTraceSession(this, tracer);
+        }
+        return mTraceSession;
+    }
+
     private void startAnimatorIn() {
         cancelAnimator();
+        if (mTraceSession != null) {
+            mTraceSession.beginPhase(LayerMetrics.Phase.ANIMATION_IN);
+            mTraceSession.startFrameCounting(mViewHolder.getChild());
+        }
         if (mShowWithAnim) {
-            mAnimatorIn = onCreateInAnimator(mViewHolder.getChild());
+            mAnimatorRestState = false;
+            mAnimatorIn = obtainInAnimator(mViewHolder.getChild());
             if (mAnimatorIn != null) {
-                mAnimatorIn.addListener(new DefaultAnimatorListener() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        super.onAnimationEnd(animation);
-                        mAnimatorIn = null;
-                    }
-
-                    @Override
-                    public void onAnimationEndNotCanceled(Animator animation) {
-                        super.onAnimationEndNotCanceled(animation);
-                        mInAnimEndCallback.run();
-                    }
-                });
+                mAnimatorIn.addListener(mInAnimatorListener);
+                promoteHardwareLayer(mAnimatorIn);
                 mAnimatorIn.start();
             } else {
                 mInAnimEndCallback.run();
@@ -324,47 +493,50 @@ public class Layer {
     }
 
     private void handleInAnimEnd() {
+        mAnimatorRestState = true;
+        if (mTraceSession != null) {
+            mTraceSession.endPhase(LayerMetrics.Phase.ANIMATION_IN);
+        }
         onPostShow();
+        if (mTraceSession != null) {
+            mTraceSession.finish();
+        }
     }
 
     private void handleDismiss() {
         if (!isShown()) return;
         if (isOutAnimRunning()) return;
+        if (mTraceSession != null) {
+            mTraceSession.beginDismiss();
+        }
         if (mShowOnPreDrawListener != null) {
             if (getViewTreeObserver().isAlive()) {
                 getViewTreeObserver().removeOnPreDrawListener(mShowOnPreDrawListener);
             }
             mShowOnPreDrawListener = null;
             mViewManager.detach();
+            if (mTraceSession != null) {
+                mTraceSession.endDismiss();
+            }
             onDetach();
             onDestroy();
             return;
         }
         onPreDismiss();
+        if (mTraceSession != null) {
+            mTraceSession.startFrameCounting(mViewHolder.getChild());
+        }
         startAnimatorOut();
     }
 
     private void startAnimatorOut() {
         cancelAnimator();
         if (mDismissWithAnim) {
-            mAnimatorOut = onCreateOutAnimator(mViewHolder.getChild());
+            mAnimatorOut = obtainOutAnimator(mViewHolder.getChild());
+            mAnimatorRestState = false;
             if (mAnimatorOut != null) {
-                mAnimatorOut.addListener(new DefaultAnimatorListener() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        super.onAnimationEnd(animation);
-                        mAnimatorOut = null;
-                    }
-
-                    @Override
-                    public void onAnimationEndNotCanceled(Animator animation) {
-                        super.onAnimationEndNotCanceled(animation);
-                        // 动画执行结束后不能直接removeView，要在下一个dispatchDraw周期移除
-                        // 否则会崩溃，因为viewGroup的childCount没有来得及-1，获取到的view为空
-                        getViewHolder().getChild().setVisibility(View.INVISIBLE);
-                        getViewHolder().getParent().post(mOutAnimEndCallback);
-                    }
-                });
+                mAnimatorOut.addListener(mOutAnimatorListener);
+                promoteHardwareLayer(mAnimatorOut);
                 mAnimatorOut.start();
             } else {
                 getViewHolder().getChild().setVisibility(View.INVISIBLE);
@@ -379,6 +551,9 @@ public class Layer {
     private void handleOutAnimEnd() {
         onPostDismiss();
         mViewManager.detach();
+        if (mTraceSession != null) {
+            mTraceSession.endDismiss();
+        }
         onDetach();
         onDestroy();
     }
@@ -391,15 +566,129 @@ public class Layer {
         getViewHolder().getParent().removeCallbacks(mInAnimEndCallback);
         getViewHolder().getParent().removeCallbacks(mOutAnimEndCallback);
         if (mAnimatorIn != null) {
-            mAnimatorIn.removeAllListeners();
-            mAnimatorIn.cancel();
+            cancelAnimator(mAnimatorIn, mInAnimatorListener, mInAnimatorCache);
             mAnimatorIn = null;
         }
         if (mAnimatorOut != null) {
-            mAnimatorOut.removeAllListeners();
-            mAnimatorOut.cancel();
+            cancelAnimator(mAnimatorOut, mOutAnimatorListener, mOutAnimatorCache);
             mAnimatorOut = null;
         }
+        if (mAnimatorSeek != null) {
+            // 停在当前进度，退出动画从当前状态开始
+            mAnimatorSeek.removeListener(mSeekAnimatorListener);
+            mAnimatorSeek.cancel();
+            mAnimatorSeek = null;
+        }
+        restoreHardwareLayer();
+    }
+
+    private void promoteHardwareLayer(@NonNull Animator animator) {
+        if (!mConfig.mHardwareLayerEnabled) {
+            return;
+        }
+        if (mHardwareLayerPromoter == null) {
+            mHardwareLayerPromoter = new HardwareLayerPromoter();
+        }
+        mHardwareLayerPromoter.promote(animator);
+    }
+
+    private void restoreHardwareLayer() {
+        if (mHardwareLayerPromoter != null) {
+            mHardwareLayerPromoter.restore();
+        }
+    }
+
+    private static void cancelAnimator(@NonNull Animator animator,
+                                       @NonNull Animator.AnimatorListener listener,
+                                       @Nullable AnimatorCache cache) {
+        if (cache != null && cache.mAnimator == animator) {
+            // 缓存的动画需保留创建时添加的监听
+            animator.removeListener(listener);
+        } else {
+            animator.removeAllListeners();
+        }
+        animator.cancel();
+    }
+
+    @Nullable
+    private Animator createInAnimator(@NonNull View target) {
+        final LayerAnimationPolicy policy = Layers.peekAnimationPolicy();
+        if (policy == null) {
+            return onCreateInAnimator(target);
+        }
+        final Animator animator;
+        if (policy.isReducedMotion()) {
+            animator = policy.createReducedInAnimator(target);
+        } else {
+            animator = onCreateInAnimator(target);
+        }
+        if (animator != null) {
+            policy.scaleAnimator(animator);
+        }
+        return animator;
+    }
+
+    @Nullable
+    private Animator createOutAnimator(@NonNull View target) {
+        final LayerAnimationPolicy policy = Layers.peekAnimationPolicy();
+        if (policy == null) {
+            return onCreateOutAnimator(target);
+        }
+        final Animator animator;
+        if (policy.isReducedMotion()) {
+            animator = policy.createReducedOutAnimator(target);
+        } else {
+            animator = onCreateOutAnimator(target);
+        }
+        if (animator != null) {
+            policy.scaleAnimator(animator);
+        }
+        return animator;
+    }
+
+    @Nullable
+    private Animator obtainInAnimator(@NonNull View target) {
+        if (!mConfig.mAnimatorCacheEnabled) {
+            return createInAnimator(target);
+        }
+        if (mInAnimatorCache == null) {
+            mInAnimatorCache = new AnimatorCache();
+        }
+        Animator animator = mInAnimatorCache.get(target);
+        if (animator == null) {
+            animator = createInAnimator(target);
+            mInAnimatorCache.put(target, animator);
+        }
+        return animator;
+    }
+
+    @Nullable
+    private Animator obtainOutAnimator(@NonNull View target) {
+        if (!mConfig.mAnimatorCacheEnabled) {
+            return createOutAnimator(target);
+        }
+        if (mOutAnimatorCache == null) {
+            mOutAnimatorCache = new AnimatorCache();
+        }
+        // 退出动画的起始值通常取自当前状态，只在静止状态下创建和复用
+        if (!mAnimatorRestState) {
+            return createOutAnimator(target);
+        }
+        Animator animator = mOutAnimatorCache.get(target);
+        if (animator == null) {
+            animator = createOutAnimator(target);
+            mOutAnimatorCache.put(target, animator);
+        }
+        return animator;
+    }
+
+    private void clearAnimatorCache() {
+        if (mInAnimatorCache != null) {
+            mInAnimatorCache.clear();
+        }
+        if (mOutAnimatorCache != null) {
+            mOutAnimatorCache.clear();
+        }
     }
 
     public void show() {
@@ -432,9 +721,118 @@ public class Layer {
         return mAnimatorOut != null && mAnimatorOut.isStarted();
     }
 
+    /**
+     * 按进度定位进入动画，0为隐藏，1为显示，用于手势、滚动或返回手势驱动的过渡
+     * 需在显示后调用，拖动过程中复用同一个动画，结束时调用{@link #animateToShown()}或{@link #animateToDismissed()}
+     * 只能定位ValueAnimator和AnimatorSet，圆形揭露等动画无效
+     */
+    public void setShowProgress(@FloatRange(from = 0, to = 1) float progress) {
+        if (!isShown() || isOutAnimRunning()) {
+            return;
+        }
+        // 还未完成首次布局
+        if (mShowOnPreDrawListener != null) {
+            return;
+        }
+        if (mAnimatorSeek == null) {
+            // 进入动画未完成时先结束显示流程，再从当前动画状态定位
+            final boolean showPending = !mAnimatorRestState;
+            cancelAnimator();
+            if (showPending) {
+                handleInAnimEnd();
+            }
+            mAnimatorSeek = obtainInAnimator(mViewHolder.getChild());
+            if (mAnimatorSeek == null) {
+                return;
+            }
+            mAnimatorRestState = false;
+            promoteHardwareLayer(mAnimatorSeek);
+        } else if (mAnimatorSeek.isStarted()) {
+            // animateToShown过程中再次拖动
+            mAnimatorSeek.removeListener(mSeekAnimatorListener);
+            mAnimatorSeek.cancel();
+        }
+        mShowProgress = Math.max(0F, Math.min(1F, progress));
+        AnimatorHelper.seekTo(mAnimatorSeek, mShowProgress);
+    }
+
+    /**
+     * 从{@link #setShowProgress(float)}的当前进度继续进入动画
+     */
+    public void animateToShown() {
+        if (mAnimatorSeek == null || mAnimatorSeek.isStarted()) {
+            return;
+        }
+        mAnimatorSeek.addListener(mSeekAnimatorListener);
+        AnimatorHelper.startFrom(mAnimatorSeek, mShowProgress);
+    }
+
+    /**
+     * 从当前状态开始退出动画并关闭，退出动画需以当前状态为起始值（内置动画都是如此）
+     */
+    public void animateToDismissed() {
+        dismiss(true);
+    }
+
     @NonNull
     public LayoutInflater getLayoutInflater() {
-        return LayoutInflater.from(mViewHolder.getParent().getContext());
+        ViewGroup parent = mViewHolder.getParentOrNull();
+        if (parent == null) {
+            parent = mConfig.mParentView;
+        }
+        if (parent == null) {
+            parent = mViewHolder.getParent();
+        }
+        return LayoutInflater.from(parent.getContext());
+    }
+
+    /**
+     * 在后台线程提前加载布局，参考AsyncLayoutInflater
+     * show时若已加载完成则直接使用，否则仍在主线程同步加载
+     */
+    @NonNull
+    public Layer prepare() {
+        return preInflate(getPreInflateExecutor());
+    }
+
+    /**
+     * 同{@link #prepare()}，使用指定线程池加载
+     * 需在主线程调用
+     */
+    @NonNull
+    public Layer preInflate(@NonNull Executor executor) {
+        if (mViewHolder.getChildOrNull() != null || mPreInflateTask != null) {
+            return this;
+        }
+        final int layoutId = getPreInflateLayoutId();
+        if (layoutId == View.NO_ID) {
+            return this;
+        }
+        final LayoutInflater inflater = getLayoutInflater();
+        // LayoutInflater非线程安全，克隆一份给子线程使用
+        // 使用主线程创建的FrameLayout作为父布局以保留根布局的LayoutParams
+        mPreInflateTask = new PreInflateTask(
+                inflater.cloneInContext(inflater.getContext()),
+                layoutId,
+                new FrameLayout(inflater.getContext())
+        );
+        executor.execute(mPreInflateTask);
+        return this;
+    }
+
+    @NonNull
+    private static Executor getPreInflateExecutor() {
+        if (sPreInflateExecutor == null) {
+            sPreInflateExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable r) {
+                    Thread thread = new Thread(r, "LayerPreInflate");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sPreInflateExecutor;
     }
 
     public boolean isViewCacheable() {
@@ -445,6 +843,23 @@ public class Layer {
         mViewCacheable = viewCacheable;
     }
 
+    @Nullable
+    public LayerViewPool getViewPool() {
+        return mConfig.mViewPool;
+    }
+
+    /**
+     * 设置布局复用池，浮层销毁时布局放回池中，再次显示时跳过inflate
+     * 可使用全局共享的{@link Layers#getViewPool()}
+     *
+     * @param viewPool 复用池，null为不复用
+     */
+    @NonNull
+    public Layer setViewPool(@Nullable LayerViewPool viewPool) {
+        mConfig.mViewPool = viewPool;
+        return this;
+    }
+
     @NonNull
     public ViewGroup getParent() {
         return mViewHolder.getParent();
@@ -487,9 +902,41 @@ public class Layer {
     @NonNull
     public Layer setAnimator(@Nullable AnimatorCreator creator) {
         mConfig.mAnimatorCreator = creator;
+        clearAnimatorCache();
         return this;
     }
 
+    /**
+     * 缓存进入和退出动画，只在子控件或其位置尺寸变化时重新创建，适合频繁显示隐藏的浮层
+     * 复用时不会再调用{@link #onCreateInAnimator(View)}，要求动画的起止值不依赖创建时之外的状态
+     */
+    @NonNull
+    public Layer setAnimatorCacheEnabled(boolean enabled) {
+        mConfig.mAnimatorCacheEnabled = enabled;
+        if (!enabled) {
+            clearAnimatorCache();
+        }
+        return this;
+    }
+
+    public boolean isAnimatorCacheEnabled() {
+        return mConfig.mAnimatorCacheEnabled;
+    }
+
+    /**
+     * 动画期间将动画目标提升为硬件层，默认开启
+     * 只对透明度、缩放、平移和旋转动画生效，内容在动画期间需要重绘时（如背景模糊）应关闭
+     */
+    @NonNull
+    public Layer setHardwareLayerEnabled(boolean enabled) {
+        mConfig.mHardwareLayerEnabled = enabled;
+        return this;
+    }
+
+    public boolean isHardwareLayerEnabled() {
+        return mConfig.mHardwareLayerEnabled;
+    }
+
     @NonNull
     public Layer setInterceptKeyEvent(boolean intercept) {
         mConfig.mInterceptKeyEvent = intercept;
@@ -511,6 +958,22 @@ public class Layer {
         return mConfig.mCancelableOnKeyBack;
     }
 
+    /**
+     * 宿主为ComponentActivity时通过OnBackPressedDispatcher接收返回键，默认开启
+     * 不抢占焦点，支持预测性返回手势，手势过程中按进度定位进入动画，见{@link #setShowProgress(float)}
+     * 只能收到返回键，Activity重写onBackPressed且未调用super时收不到，
+     * 需要在{@link #onKeyEvent(int, KeyEvent)}中处理其他按键时关闭，关闭后通过焦点View的按键监听接收所有按键
+     */
+    @NonNull
+    public Layer setBackPressedDispatcherEnabled(boolean enabled) {
+        mConfig.mBackPressedDispatcherEnabled = enabled;
+        return this;
+    }
+
+    public boolean isBackPressedDispatcherEnabled() {
+        return mConfig.mBackPressedDispatcherEnabled;
+    }
+
     /**
      * 绑定数据
      * 获取子控件ID为{@link #findViewById(int)}
@@ -671,8 +1134,14 @@ public class Layer {
 
         private boolean mInterceptKeyEvent = false;
         private boolean mCancelableOnKeyBack = false;
+        private boolean mBackPressedDispatcherEnabled = true;
 
         private AnimatorCreator mAnimatorCreator = null;
+        private boolean mAnimatorCacheEnabled = false;
+        private boolean mHardwareLayerEnabled = true;
+
+        @Nullable
+        private LayerViewPool mViewPool = null;
     }
 
     public static class ViewHolder {
@@ -696,6 +1165,9 @@ public class Layer {
         }
 
         public void setChild(@NonNull View child) {
+            if (mChild != child && mViewCaches != null) {
+                mViewCaches.clear();
+            }
             mChild = child;
         }
 
@@ -787,6 +1259,34 @@ public class Layer {
             }
         }
 
+        private void unbindListeners(@NonNull final Layer layer, @NonNull View root) {
+            if (mOnClickListeners != null) {
+                for (int i = 0; i < mOnClickListeners.size(); i++) {
+                    final View view = findBoundView(layer, root, mOnClickListeners.keyAt(i));
+                    if (view != null) {
+                        view.setOnClickListener(null);
+                    }
+                }
+            }
+            if (mOnLongClickListeners != null) {
+                for (int i = 0; i < mOnLongClickListeners.size(); i++) {
+                    final View view = findBoundView(layer, root, mOnLongClickListeners.keyAt(i));
+                    if (view != null) {
+                        view.setOnLongClickListener(null);
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        private View findBoundView(@NonNull final Layer layer, @NonNull View root, int viewId) {
+            if (viewId == View.NO_ID) {
+                View view = layer.getViewHolder().getNoIdClickView();
+                return view == root ? view : null;
+            }
+            return root.findViewById(viewId);
+        }
+
         public void addOnClickListener(@NonNull final OnClickListener listener, int... viewIds) {
             if (mOnClickListeners == null) {
                 mOnClickListeners = new SparseArray<>();
@@ -934,6 +1434,28 @@ public class Layer {
         }
     }
 
+    private class OnBackProgressListener implements ViewManager.OnBackProgressListener {
+        @Override
+        public void onBackStarted() {
+            Layer.this.handleBackStarted();
+        }
+
+        @Override
+        public void onBackProgressed(float progress) {
+            Layer.this.handleBackProgressed(progress);
+        }
+
+        @Override
+        public void onBackCancelled() {
+            Layer.this.handleBackCancelled();
+        }
+
+        @Override
+        public boolean onBackInvoked() {
+            return Layer.this.handleBackInvoked();
+        }
+    }
+
     private class OnInAnimEndCallback implements Runnable {
         @Override
         public void run() {
@@ -948,6 +1470,58 @@ public class Layer {
         }
     }
 
+    private class InAnimatorListener extends DefaultAnimatorListener {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            super.onAnimationEnd(animation);
+            animation.removeListener(this);
+            if (mAnimatorIn == animation) {
+                mAnimatorIn = null;
+                restoreHardwareLayer();
+            }
+        }
+
+        @Override
+        public void onAnimationEndNotCanceled(Animator animation) {
+            super.onAnimationEndNotCanceled(animation);
+            mInAnimEndCallback.run();
+        }
+    }
+
+    private class SeekAnimatorListener extends DefaultAnimatorListener {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            super.onAnimationEnd(animation);
+            animation.removeListener(this);
+            if (mAnimatorSeek == animation) {
+                mAnimatorSeek = null;
+                mAnimatorRestState = true;
+                restoreHardwareLayer();
+            }
+        }
+    }
+
+    private class OutAnimatorListener extends DefaultAnimatorListener {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            super.onAnimationEnd(animation);
+            animation.removeListener(this);
+            if (mAnimatorOut == animation) {
+                mAnimatorOut = null;
+                restoreHardwareLayer();
+            }
+        }
+
+        @Override
+        public void onAnimationEndNotCanceled(Animator animation) {
+            super.onAnimationEndNotCanceled(animation);
+            // 动画执行结束后不能直接removeView，要在下一个dispatchDraw周期移除
+            // 否则会崩溃，因为viewGroup的childCount没有来得及-1，获取到的view为空
+            getViewHolder().getChild().setVisibility(View.INVISIBLE);
+            getViewHolder().getParent().post(mOutAnimEndCallback);
+        }
+    }
+
     public interface AnimatorCreator {
         /**
          * 进入动画
@@ -1029,4 +1603,64 @@ public class Layer {
          */
         void onDismiss(@NonNull Layer layer);
     }
+
+    private static final class PreInflateTask implements Runnable {
+        private final LayoutInflater mInflater;
+        private final int mLayoutId;
+        private final ViewGroup mParent;
+
+        private volatile View mView = null;
+
+        private PreInflateTask(@NonNull LayoutInflater inflater, @LayoutRes int layoutId, @NonNull ViewGroup parent) {
+            mInflater = inflater;
+            mLayoutId = layoutId;
+            mParent = parent;
+        }
+
+        @Override
+        public void run() {
+            try {
+                mView = mInflater.inflate(mLayoutId, mParent, false);
+            } catch (RuntimeException ignore) {
+                // 部分控件不支持在子线程创建，show时回退到主线程加载
+            }
+        }
+    }
+
+    /**
+     * 按目标View和其位置尺寸缓存的动画
+     */
+    private static final class AnimatorCache {
+        private Animator mAnimator = null;
+        private View mTarget = null;
+        private int mLeft, mTop, mRight, mBottom;
+
+        @Nullable
+        private Animator get(@NonNull View target) {
+            if (mAnimator == null) {
+                return null;
+            }
+            if (mTarget != target
+                    || mLeft != target.getLeft() || mTop != target.getTop()
+                    || mRight != target.getRight() || mBottom != target.getBottom()) {
+                clear();
+                return null;
+            }
+            return mAnimator;
+        }
+
+        private void put(@NonNull View target, @Nullable Animator animator) {
+            mAnimator = animator;
+            mTarget = animator == null ? null : target;
+            mLeft = target.getLeft();
+            mTop = target.getTop();
+            mRight = target.getRight();
+            mBottom = target.getBottom();
+        }
+
+        private void clear() {
+            mAnimator = null;
+            mTarget = null;
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package per.goweii.layer.core;
+
+import android.animation.Animator;
+import android.animation.AnimatorSet;
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.view.View;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+
+import per.goweii.layer.core.anim.AnimatorHelper;
+import per.goweii.layer.core.anim.StaggerAnimator;
+
+/**
+ * 全局动画策略，通过{@link Layers#setAnimationPolicy(LayerAnimationPolicy)}设置
+ * 在系统动画缩放的基础上再缩放浮层动画时长，减弱动效时所有浮层改为只有透明度的动画，
+ * 低功耗时（手动开启、系统省电模式或设备发热）关闭背景模糊和圆形揭露等开销较大的效果
+ * 开启动画缓存的浮层只在创建动画时应用，修改策略后需重新设置动画才会生效
+ */
+public class LayerAnimationPolicy {
+    private float mDurationScale = 1F;
+    private boolean mReducedMotion = false;
+    private boolean mLowPower = false;
+    private boolean mFollowSystemPowerSave = true;
+
+    /**
+     * @param scale 0为关闭动画
+     */
+    @NonNull
+    public LayerAnimationPolicy setDurationScale(@FloatRange(from = 0) float scale) {
+        mDurationScale = Math.max(0F, scale);
+        return this;
+    }
+
+    public float getDurationScale() {
+        return mDurationScale;
+    }
+
+    /**
+     * 减弱动效，显示和关闭动画替换为{@link #createReducedInAnimator(View)}和{@link #createReducedOutAnimator(View)}
+     */
+    @NonNull
+    public LayerAnimationPolicy setReducedMotion(boolean reducedMotion) {
+        mReducedMotion = reducedMotion;
+        return this;
+    }
+
+    public boolean isReducedMotion() {
+        return mReducedMotion;
+    }
+
+    /**
+     * 强制低功耗
+     */
+    @NonNull
+    public LayerAnimationPolicy setLowPower(boolean lowPower) {
+        mLowPower = lowPower;
+        return this;
+    }
+
+    /**
+     * 系统省电模式或设备温度过高时自动低功耗，默认开启
+     */
+    @NonNull
+    public LayerAnimationPolicy setFollowSystemPowerSave(boolean follow) {
+        mFollowSystemPowerSave = follow;
+        return this;
+    }
+
+    /**
+     * 系统状态来自{@link Layers}中缓存的省电模式和温度，不会跨进程查询
+     * 未通过{@link Layers#setAnimationPolicy(LayerAnimationPolicy)}设置的策略才直接查询PowerManager
+     */
+    public boolean isLowPower(@NonNull Context context) {
+        if (mLowPower) {
+            return true;
+        }
+        if (!mFollowSystemPowerSave) {
+            return false;
+        }
+        final PowerState powerState = Layers.peekPowerState();
+        if (powerState != null) {
+            return powerState.isLowPower();
+        }
+        return queryLowPower(context);
+    }
+
+    private static boolean queryLowPower(@NonNull Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return false;
+        }
+        final PowerManager pm = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (pm == null) {
+            return false;
+        }
+        if (pm.isPowerSaveMode()) {
+            return true;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            return pm.getCurrentThermalStatus() >= PowerManager.THERMAL_STATUS_MODERATE;
+        }
+        return false;
+    }
+
+    @Nullable
+    public Animator createReducedInAnimator(@NonNull View target) {
+        return AnimatorHelper.createAlphaInAnim(target);
+    }
+
+    @Nullable
+    public Animator createReducedOutAnimator(@NonNull View target) {
+        return AnimatorHelper.createAlphaOutAnim(target);
+    }
+
+    public long scaleDuration(long duration) {
+        if (duration <= 0 || mDurationScale == 1F) {
+            return duration;
+        }
+        return (long) (duration * mDurationScale);
+    }
+
+    /**
+     * 缩放动画及其子动画的时长和启动延迟，只能调用一次
+     * {@link StaggerAnimator}的子控件时长和间隔一起缩放；
+     * 弹簧动画的时长在开始时由弹簧参数算出，在开始时通过{@link #scaledDuration(long)}缩放
+     */
+    public void scaleAnimator(@NonNull Animator animator) {
+        if (mDurationScale == 1F) {
+            return;
+        }
+        scaleAnimator(animator, false);
+    }
+
+    private void scaleAnimator(@NonNull Animator animator, boolean durationOverridden) {
+        animator.setStartDelay(scaleDuration(animator.getStartDelay()));
+        if (animator instanceof AnimatorSet) {
+            final AnimatorSet set = (AnimatorSet) animator;
+            // AnimatorSet设置了时长时会覆盖子动画的时长
+            final boolean overridden = durationOverridden || set.getDuration() >= 0;
+            if (!durationOverridden && set.getDuration() >= 0) {
+                set.setDuration(scaleDuration(set.getDuration()));
+            }
+            final ArrayList<Animator> children = set.getChildAnimations();
+            for (int i = 0; i < children.size(); i++) {
+                scaleAnimator(children.get(i), overridden);
+            }
+            return;
+        }
+        if (!durationOverridden) {
+            animator.setDuration(scaleDuration(animator.getDuration()));
+        }
+        if (animator instanceof StaggerAnimator) {
+            // 子控件时长和间隔是绝对值，不缩放时会按缩放后的总时长重新分配
+            final StaggerAnimator stagger = (StaggerAnimator) animator;
+            stagger.setChildDuration(scaleDuration(stagger.getChildDuration()));
+            stagger.setChildDelay(scaleDuration(stagger.getChildDelay()));
+        }
+    }
+
+    /**
+     * 按当前策略缩放时长，未设置策略时原样返回
+     * 用于不经过{@link Layer}创建的动画，如输入法适配和滑动关闭
+     */
+    public static long scaledDuration(long duration) {
+        final LayerAnimationPolicy policy = Layers.peekAnimationPolicy();
+        if (policy == null) {
+            return duration;
+        }
+        return policy.scaleDuration(duration);
+    }
+
+    /**
+     * 当前是否应关闭背景模糊和圆形揭露等开销较大的效果，未设置策略时为false
+     */
+    public static boolean shouldReduceEffects(@NonNull Context context) {
+        final LayerAnimationPolicy policy = Layers.peekAnimationPolicy();
+        if (policy == null) {
+            return false;
+        }
+        return policy.isLowPower(context);
+    }
+}
@@ -0,0 +1,233 @@
+package per.goweii.layer.core;
+
+import android.app.Activity;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * 记录所有已显示的{@link DecorLayer}，按Activity和层级分组
+ * 通过{@link Layers#getLayerManager()}获取，查询时无需遍历View树
+ * 仅支持在主线程调用
+ */
+public final class LayerManager {
+    private final HashMap<Activity, SparseArray<ArrayList<Layer>>> mActivityLayers = new HashMap<>();
+    private final IdentityHashMap<Layer, Record> mRecords = new IdentityHashMap<>();
+    private final HashMap<Class<?>, int[]> mClassCounts = new HashMap<>();
+
+    LayerManager() {
+    }
+
+    void register(@NonNull Activity activity, int level, @NonNull Layer layer) {
+        if (mRecords.containsKey(layer)) {
+            return;
+        }
+        mRecords.put(layer, new Record(activity, level));
+        SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(activity);
+        if (levelLayers == null) {
+            levelLayers = new SparseArray<>();
+            mActivityLayers.put(activity, levelLayers);
+        }
+        ArrayList<Layer> layers = levelLayers.get(level);
+        if (layers == null) {
+            layers = new ArrayList<>(2);
+            levelLayers.put(level, layers);
+        }
+        layers.add(layer);
+        updateClassCount(layer.getClass(), 1);
+    }
+
+    void unregister(@NonNull Layer layer) {
+        final Record record = mRecords.remove(layer);
+        if (record == null) {
+            return;
+        }
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(record.mActivity);
+        if (levelLayers != null) {
+            final ArrayList<Layer> layers = levelLayers.get(record.mLevel);
+            if (layers != null) {
+                layers.remove(layer);
+            }
+        }
+        updateClassCount(layer.getClass(), -1);
+    }
+
+    /**
+     * 移除该Activity的所有记录，Activity销毁时调用
+     */
+    void clear(@NonNull Activity activity) {
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.remove(activity);
+        if (levelLayers == null) {
+            return;
+        }
+        for (int i = 0; i < levelLayers.size(); i++) {
+            final ArrayList<Layer> layers = levelLayers.valueAt(i);
+            for (int j = 0; j < layers.size(); j++) {
+                final Layer layer = layers.get(j);
+                mRecords.remove(layer);
+                updateClassCount(layer.getClass(), -1);
+            }
+        }
+    }
+
+    private void updateClassCount(@NonNull Class<?> clazz, int delta) {
+        // 同时计入父类，使查询包含子类
+        while (clazz != null && Layer.class.isAssignableFrom(clazz)) {
+            int[] count = mClassCounts.get(clazz);
+            if (count == null) {
+                count = new int[1];
+                mClassCounts.put(clazz, count);
+            }
+            count[0] += delta;
+            clazz = clazz.getSuperclass();
+        }
+    }
+
+    public boolean isShown(@NonNull Layer layer) {
+        return mRecords.containsKey(layer);
+    }
+
+    /**
+     * 是否有该类型（包含子类）的浮层正在显示
+     */
+    public boolean isShowing(@NonNull Class<? extends Layer> clazz) {
+        return getCount(clazz) > 0;
+    }
+
+    /**
+     * 正在显示的该类型（包含子类）浮层数量
+     */
+    public int getCount(@NonNull Class<? extends Layer> clazz) {
+        final int[] count = mClassCounts.get(clazz);
+        return count == null ? 0 : count[0];
+    }
+
+    public int getCount() {
+        return mRecords.size();
+    }
+
+    public int getCount(@NonNull Activity activity, int level) {
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(activity);
+        if (levelLayers == null) {
+            return 0;
+        }
+        final ArrayList<Layer> layers = levelLayers.get(level);
+        return layers == null ? 0 : layers.size();
+    }
+
+    /**
+     * 按level从高到低、同level内后显示的在前遍历该Activity的浮层
+     *
+     * @return 终止遍历时的浮层，遍历完成返回null
+     */
+    @Nullable
+    public Layer forEachLayer(@NonNull Activity activity, @NonNull FrameLayer.LayerVisitor visitor) {
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(activity);
+        if (levelLayers == null) {
+            return null;
+        }
+        for (int i = levelLayers.size() - 1; i >= 0; i--) {
+            final ArrayList<Layer> layers = levelLayers.valueAt(i);
+            int j = layers.size() - 1;
+            while (j >= 0) {
+                final Layer layer = layers.get(j);
+                if (visitor.visit(layer)) {
+                    return layer;
+                }
+                // 遍历中可能有浮层被移除
+                j = Math.min(j, layers.size()) - 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 该Activity中最上层的浮层
+     */
+    @Nullable
+    public Layer findTop(@NonNull Activity activity) {
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(activity);
+        if (levelLayers == null) {
+            return null;
+        }
+        for (int i = levelLayers.size() - 1; i >= 0; i--) {
+            final ArrayList<Layer> layers = levelLayers.valueAt(i);
+            if (!layers.isEmpty()) {
+                return layers.get(layers.size() - 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 该Activity中最上层的可以被返回键关闭的浮层
+     */
+    @Nullable
+    public Layer findTopCancelable(@NonNull Activity activity) {
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(activity);
+        if (levelLayers == null) {
+            return null;
+        }
+        for (int i = levelLayers.size() - 1; i >= 0; i--) {
+            final ArrayList<Layer> layers = levelLayers.valueAt(i);
+            for (int j = layers.size() - 1; j >= 0; j--) {
+                final Layer layer = layers.get(j);
+                if (layer.isCancelableOnKeyBack()) {
+                    return layer;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 关闭所有Activity中该层级的浮层
+     */
+    public void dismissAll(int level) {
+        final List<Layer> targets = new ArrayList<>();
+        for (SparseArray<ArrayList<Layer>> levelLayers : mActivityLayers.values()) {
+            final ArrayList<Layer> layers = levelLayers.get(level);
+            if (layers != null) {
+                targets.addAll(layers);
+            }
+        }
+        dismiss(targets);
+    }
+
+    /**
+     * 关闭该Activity中该层级的浮层
+     */
+    public void dismissAll(@NonNull Activity activity, int level) {
+        final SparseArray<ArrayList<Layer>> levelLayers = mActivityLayers.get(activity);
+        if (levelLayers == null) {
+            return;
+        }
+        final ArrayList<Layer> layers = levelLayers.get(level);
+        if (layers == null || layers.isEmpty()) {
+            return;
+        }
+        dismiss(new ArrayList<>(layers));
+    }
+
+    private static void dismiss(@NonNull List<Layer> layers) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            layers.get(i).dismiss();
+        }
+    }
+
+    private static final class Record {
+        private final Activity mActivity;
+        private final int mLevel;
+
+        private Record(@NonNull Activity activity, int level) {
+            mActivity = activity;
+            mLevel = level;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package per.goweii.layer.core;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+/**
+ * 浮层一次显示或关闭过程的各阶段耗时，单位纳秒
+ */
+public final class LayerMetrics {
+
+    @IntDef({Type.SHOW, Type.DISMISS})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Type {
+        int SHOW = 0;
+        int DISMISS = 1;
+    }
+
+    @IntDef({Phase.INFLATE, Phase.ATTACH, Phase.FIRST_PRE_DRAW, Phase.ANIMATION_IN, Phase.DISMISS})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Phase {
+        /**
+         * onCreate，包含父布局安装和子控件加载
+         */
+        int INFLATE = 0;
+        /**
+         * 添加到父布局及onAttach
+         */
+        int ATTACH = 1;
+        /**
+         * 添加后到第一次onPreDraw
+         */
+        int FIRST_PRE_DRAW = 2;
+        /**
+         * 进入动画
+         */
+        int ANIMATION_IN = 3;
+        /**
+         * 调用dismiss到从父布局移除，包含退出动画
+         */
+        int DISMISS = 4;
+    }
+
+    static final int PHASE_COUNT = 5;
+
+    private final Class<? extends Layer> mLayerClass;
+    private final long[] mDurations = new long[PHASE_COUNT];
+
+    private int mType = Type.SHOW;
+    private long mTotalDuration = 0;
+    private int mFrameCount = 0;
+    private int mDroppedFrameCount = 0;
+
+    LayerMetrics(@NonNull Class<? extends Layer> layerClass) {
+        mLayerClass = layerClass;
+        reset(Type.SHOW);
+    }
+
+    void reset(@Type int type) {
+        mType = type;
+        Arrays.fill(mDurations, -1L);
+        mTotalDuration = 0;
+        mFrameCount = 0;
+        mDroppedFrameCount = 0;
+    }
+
+    void setDuration(@Phase int phase, long duration) {
+        mDurations[phase] = duration;
+    }
+
+    void setTotalDuration(long totalDuration) {
+        mTotalDuration = totalDuration;
+    }
+
+    void addFrames(int frameCount, int droppedFrameCount) {
+        mFrameCount += frameCount;
+        mDroppedFrameCount += droppedFrameCount;
+    }
+
+    @NonNull
+    public Class<? extends Layer> getLayerClass() {
+        return mLayerClass;
+    }
+
+    @Type
+    public int getType() {
+        return mType;
+    }
+
+    /**
+     * @return 该阶段耗时，未经历该阶段时为-1
+     */
+    public long getDuration(@Phase int phase) {
+        return mDurations[phase];
+    }
+
+    /**
+     * 显示时为调用show到进入动画结束，关闭时为调用dismiss到从父布局移除
+     */
+    public long getTotalDuration() {
+        return mTotalDuration;
+    }
+
+    /**
+     * 动画期间绘制的帧数
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * 动画期间按屏幕刷新率估算的丢帧数
+     */
+    public int getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+}
@@ -0,0 +1,176 @@
+package per.goweii.layer.core;
+
+import android.annotation.SuppressLint;
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 单个浮层的耗时统计和systrace输出，由{@link Layer}在设置了{@link LayerTracer}时创建
+ */
+final class LayerTraceSession implements Choreographer.FrameCallback {
+    private static final String[] PHASE_NAMES = {"inflate", "attach", "firstPreDraw", "animIn", "dismiss"};
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    private final Layer mLayer;
+    private final LayerTracer mTracer;
+    private final LayerMetrics mMetrics;
+    private final String[] mSectionNames = new String[LayerMetrics.PHASE_COUNT];
+    private final long[] mPhaseStartTimes = new long[LayerMetrics.PHASE_COUNT];
+    private final int mCookie;
+
+    private long mStartTime = 0;
+
+    private boolean mFrameCounting = false;
+    private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    private long mLastFrameTimeNanos = 0;
+    private int mFrameCount = 0;
+    private int mDroppedFrameCount = 0;
+
+    LayerTraceSession(@NonNull Layer layer, @NonNull LayerTracer tracer) {
+        mLayer = layer;
+        mTracer = tracer;
+        mMetrics = new LayerMetrics(layer.getClass());
+        mCookie = System.identityHashCode(layer);
+        final String prefix = "Layer:" + layer.getClass().getSimpleName() + ":";
+        for (int i = 0; i < LayerMetrics.PHASE_COUNT; i++) {
+            // systrace区段名最长127个字符
+            String name = prefix + PHASE_NAMES[i];
+            mSectionNames[i] = name.length() > 127 ? name.substring(0, 127) : name;
+        }
+    }
+
+    @NonNull
+    LayerTracer getTracer() {
+        return mTracer;
+    }
+
+    void beginShow() {
+        stopFrameCounting();
+        abortPhases();
+        mMetrics.reset(LayerMetrics.Type.SHOW);
+        mStartTime = SystemClock.elapsedRealtimeNanos();
+    }
+
+    void finish() {
+        stopFrameCounting();
+        mMetrics.setTotalDuration(SystemClock.elapsedRealtimeNanos() - mStartTime);
+        mTracer.onMetrics(mLayer, mMetrics);
+    }
+
+    void beginDismiss() {
+        stopFrameCounting();
+        abortPhases();
+        mMetrics.reset(LayerMetrics.Type.DISMISS);
+        mStartTime = SystemClock.elapsedRealtimeNanos();
+        beginPhase(LayerMetrics.Phase.DISMISS);
+    }
+
+    void endDismiss() {
+        endPhase(LayerMetrics.Phase.DISMISS);
+        finish();
+    }
+
+    /**
+     * 同步阶段，开始和结束需在同一个调用栈中
+     */
+    @SuppressLint("ObsoleteSdkInt")
+    void beginSection(@LayerMetrics.Phase int phase) {
+        mPhaseStartTimes[phase] = SystemClock.elapsedRealtimeNanos();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(mSectionNames[phase]);
+        }
+    }
+
+    @SuppressLint("ObsoleteSdkInt")
+    void endSection(@LayerMetrics.Phase int phase) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+        recordPhase(phase);
+    }
+
+    /**
+     * 跨帧的异步阶段
+     */
+    void beginPhase(@LayerMetrics.Phase int phase) {
+        mPhaseStartTimes[phase] = SystemClock.elapsedRealtimeNanos();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(mSectionNames[phase], mCookie);
+        }
+    }
+
+    void endPhase(@LayerMetrics.Phase int phase) {
+        if (mPhaseStartTimes[phase] == 0) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(mSectionNames[phase], mCookie);
+        }
+        recordPhase(phase);
+    }
+
+    /**
+     * 结束被打断的阶段，如进入动画中途被关闭
+     */
+    private void abortPhases() {
+        for (int i = 0; i < LayerMetrics.PHASE_COUNT; i++) {
+            if (mPhaseStartTimes[i] != 0) {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                    Trace.endAsyncSection(mSectionNames[i], mCookie);
+                }
+                mPhaseStartTimes[i] = 0;
+            }
+        }
+    }
+
+    private void recordPhase(@LayerMetrics.Phase int phase) {
+        mMetrics.setDuration(phase, SystemClock.elapsedRealtimeNanos() - mPhaseStartTimes[phase]);
+        mPhaseStartTimes[phase] = 0;
+    }
+
+    void startFrameCounting(@NonNull View view) {
+        stopFrameCounting();
+        final Display display = view.getDisplay();
+        if (display != null && display.getRefreshRate() > 0) {
+            mFrameIntervalNanos = (long) (1000000000L / display.getRefreshRate());
+        } else {
+            mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+        }
+        mFrameCounting = true;
+        mLastFrameTimeNanos = 0;
+        mFrameCount = 0;
+        mDroppedFrameCount = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void stopFrameCounting() {
+        if (!mFrameCounting) {
+            return;
+        }
+        mFrameCounting = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        mMetrics.addFrames(mFrameCount, mDroppedFrameCount);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mFrameCounting) {
+            return;
+        }
+        if (mLastFrameTimeNanos > 0) {
+            mFrameCount++;
+            final long skipped = Math.round((double) (frameTimeNanos - mLastFrameTimeNanos) / mFrameIntervalNanos) - 1;
+            if (skipped > 0) {
+                mDroppedFrameCount += skipped;
+            }
+        }
+        mLastFrameTimeNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
@@ -0,0 +1,17 @@
+package per.goweii.layer.core;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 浮层生命周期耗时统计
+ * 通过{@link Layers#setTracer(LayerTracer)}设置，设置后同时输出systrace区段
+ * 回调在主线程
+ */
+public interface LayerTracer {
+    /**
+     * 一次显示（{@link LayerMetrics.Type#SHOW}）或关闭（{@link LayerMetrics.Type#DISMISS}）完成
+     *
+     * @param metrics 回调结束后会被复用，不要持有
+     */
+    void onMetrics(@NonNull Layer layer, @NonNull LayerMetrics metrics);
+}
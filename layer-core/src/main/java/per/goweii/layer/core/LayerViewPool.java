@@ -0,0 +1,219 @@
+package per.goweii.layer.core;
+
+import android.app.Activity;
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import per.goweii.layer.core.utils.Utils;
+
+/**
+ * 浮层布局复用池
+ * 以布局ID和主题为键缓存已加载的View，超出容量时按LRU淘汰
+ * View持有其Activity的Context，需在Activity销毁时调用{@link #clear(Activity)}，
+ * 通过{@link Layers#getViewPool()}获取的实例已自动处理
+ * 仅支持在主线程调用
+ */
+public final class LayerViewPool implements ComponentCallbacks2 {
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private final LinkedHashMap<Key, ArrayDeque<View>> mPool = new LinkedHashMap<>(8, 0.75F, true);
+    private final Key mLookupKey = new Key(View.NO_ID, null);
+
+    private int mCapacity;
+    private int mSize = 0;
+
+    public LayerViewPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LayerViewPool(@IntRange(from = 0) int capacity) {
+        mCapacity = capacity;
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public void setCapacity(@IntRange(from = 0) int capacity) {
+        mCapacity = capacity;
+        trimToSize(capacity);
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 获取布局，池中没有时重新加载
+     */
+    @NonNull
+    public View acquire(@NonNull LayoutInflater inflater, @LayoutRes int layoutId, @Nullable ViewGroup parent) {
+        final Resources.Theme theme = inflater.getContext().getTheme();
+        mLookupKey.set(layoutId, theme);
+        final ArrayDeque<View> views = mPool.get(mLookupKey);
+        View view = null;
+        if (views != null) {
+            view = views.pollLast();
+            if (views.isEmpty()) {
+                mPool.remove(mLookupKey);
+            }
+        }
+        mLookupKey.set(View.NO_ID, null);
+        if (view != null) {
+            mSize--;
+            return view;
+        }
+        view = inflater.inflate(layoutId, parent, false);
+        view.setTag(R.id.layer_view_pool_tag, new Key(layoutId, theme));
+        return view;
+    }
+
+    /**
+     * 将其他方式加载的布局纳入复用池管理，用于预加载的布局
+     */
+    void adopt(@NonNull View view, @LayoutRes int layoutId, @NonNull LayoutInflater inflater) {
+        view.setTag(R.id.layer_view_pool_tag, new Key(layoutId, inflater.getContext().getTheme()));
+    }
+
+    /**
+     * 回收由{@link #acquire}获取的布局
+     *
+     * @return 是否已放入池中
+     */
+    public boolean release(@NonNull View view) {
+        final Object tag = view.getTag(R.id.layer_view_pool_tag);
+        if (!(tag instanceof Key)) {
+            return false;
+        }
+        if (mCapacity <= 0) {
+            return false;
+        }
+        final Key key = (Key) tag;
+        Utils.removeViewParent(view);
+        resetView(view);
+        ArrayDeque<View> views = mPool.get(key);
+        if (views == null) {
+            views = new ArrayDeque<>(2);
+            mPool.put(key, views);
+        }
+        views.offerLast(view);
+        mSize++;
+        trimToSize(mCapacity);
+        return true;
+    }
+
+    public void clear() {
+        mPool.clear();
+        mSize = 0;
+    }
+
+    /**
+     * 清除属于该Activity的所有View
+     */
+    public void clear(@NonNull Activity activity) {
+        final Iterator<Map.Entry<Key, ArrayDeque<View>>> iterator = mPool.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final ArrayDeque<View> views = iterator.next().getValue();
+            final Iterator<View> viewIterator = views.iterator();
+            while (viewIterator.hasNext()) {
+                if (Utils.getActivity(viewIterator.next().getContext()) == activity) {
+                    viewIterator.remove();
+                    mSize--;
+                }
+            }
+            if (views.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public void trimToSize(int maxSize) {
+        while (mSize > maxSize) {
+            final Iterator<Map.Entry<Key, ArrayDeque<View>>> iterator = mPool.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                mSize = 0;
+                return;
+            }
+            final ArrayDeque<View> eldest = iterator.next().getValue();
+            if (eldest.pollFirst() != null) {
+                mSize--;
+            }
+            if (eldest.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            clear();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            trimToSize(mCapacity / 2);
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // 已加载的View使用的是旧配置下的资源
+        clear();
+    }
+
+    @Override
+    public void onLowMemory() {
+        clear();
+    }
+
+    private static void resetView(@NonNull View view) {
+        view.setTag(R.id.layer_tag, null);
+        view.setVisibility(View.VISIBLE);
+        view.setAlpha(1F);
+        view.setScaleX(1F);
+        view.setScaleY(1F);
+        view.setTranslationX(0F);
+        view.setTranslationY(0F);
+        view.setRotation(0F);
+        view.clearFocus();
+    }
+
+    private static final class Key {
+        private int mLayoutId;
+        private Resources.Theme mTheme;
+
+        private Key(int layoutId, @Nullable Resources.Theme theme) {
+            set(layoutId, theme);
+        }
+
+        private void set(int layoutId, @Nullable Resources.Theme theme) {
+            mLayoutId = layoutId;
+            mTheme = theme;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return mLayoutId == key.mLayoutId && mTheme == key.mTheme;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mLayoutId + System.identityHashCode(mTheme);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package per.goweii.layer.core;
 
 import android.app.Activity;
 import android.app.Application;
+import android.os.Bundle;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import per.goweii.layer.core.utils.Utils;
 
@@ -12,10 +14,20 @@ public final class Layers {
 
     private final Application mApplication;
     private final ActivityHolder mActivityHolder;
+    private final LayerViewPool mViewPool;
+    private final LayerManager mLayerManager;
+
+    private LayerTracer mTracer = null;
+    private LayerAnimationPolicy mAnimationPolicy = null;
+    private PowerState mPowerState = null;
 
     private Layers(Application application) {
         mApplication = application;
         mActivityHolder = new ActivityHolder(application);
+        mViewPool = new LayerViewPool();
+        mLayerManager = new LayerManager();
+        application.registerComponentCallbacks(mViewPool);
+        application.registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacksImpl());
     }
 
     public static Layers init(@NonNull Application application) {
@@ -30,11 +42,77 @@ public final class Layers {
         return Utils.requireNonNull(sLayers, "需要先在Application中初始化");
     }
 
+    @Nullable
+    static LayerManager peekLayerManager() {
+        return sLayers == null ? null : sLayers.mLayerManager;
+    }
+
     @NonNull
     public static ActivityHolder getActivityHolder() {
         return getInstance().mActivityHolder;
     }
 
+    /**
+     * 全局共享的布局复用池，Activity销毁时自动清除其View
+     * 通过{@link Layer#setViewPool(LayerViewPool)}启用
+     */
+    @NonNull
+    public static LayerViewPool getViewPool() {
+        return getInstance().mViewPool;
+    }
+
+    /**
+     * 所有已显示的{@link DecorLayer}
+     */
+    @NonNull
+    public static LayerManager getLayerManager() {
+        return getInstance().mLayerManager;
+    }
+
+    /**
+     * 设置浮层生命周期耗时统计，null为关闭
+     */
+    public static void setTracer(@Nullable LayerTracer tracer) {
+        getInstance().mTracer = tracer;
+    }
+
+    @Nullable
+    public static LayerTracer getTracer() {
+        return getInstance().mTracer;
+    }
+
+    @Nullable
+    static LayerTracer peekTracer() {
+        return sLayers == null ? null : sLayers.mTracer;
+    }
+
+    /**
+     * 设置全局动画策略，null为不做处理
+     */
+    public static void setAnimationPolicy(@Nullable LayerAnimationPolicy policy) {
+        final Layers layers = getInstance();
+        layers.mAnimationPolicy = policy;
+        // 首次设置策略时注册一次省电模式和温度监听
+        if (policy != null && layers.mPowerState == null) {
+            layers.mPowerState = new PowerState(layers.mApplication);
+        }
+    }
+
+    @Nullable
+    public static LayerAnimationPolicy getAnimationPolicy() {
+        return getInstance().mAnimationPolicy;
+    }
+
+    @Nullable
+    static LayerAnimationPolicy peekAnimationPolicy() {
+        return sLayers == null ? null : sLayers.mAnimationPolicy;
+    }
+
+    @Nullable
+    static PowerState peekPowerState() {
+        return sLayers == null ? null : sLayers.mPowerState;
+    }
+
     @NonNull
     public static Application getApplication() {
         return getInstance().mApplication;
@@ -44,4 +122,36 @@ public final class Layers {
     public static Activity requireCurrentActivity() {
         return getActivityHolder().requireCurrentActivity();
     }
+
+    private class ActivityLifecycleCallbacksImpl implements Application.ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            mViewPool.clear(activity);
+            mLayerManager.clear(activity);
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+        }
+    }
 }
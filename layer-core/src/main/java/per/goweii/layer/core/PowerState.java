@@ -0,0 +1,58 @@
+package per.goweii.layer.core;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.os.PowerManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+/**
+ * 缓存系统省电模式和设备温度状态，由广播和温度监听更新
+ * 查询PowerManager是跨进程调用，显示浮层时只读取缓存
+ */
+final class PowerState {
+    private final PowerManager mPowerManager;
+
+    private volatile boolean mPowerSaveMode = false;
+    private volatile boolean mThermalThrottling = false;
+
+    PowerState(@NonNull Context context) {
+        mPowerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (mPowerManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+        mPowerSaveMode = mPowerManager.isPowerSaveMode();
+        context.registerReceiver(new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                mPowerSaveMode = mPowerManager.isPowerSaveMode();
+            }
+        }, new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            registerThermalListener();
+        }
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void registerThermalListener() {
+        onThermalStatusChanged(mPowerManager.getCurrentThermalStatus());
+        mPowerManager.addThermalStatusListener(new PowerManager.OnThermalStatusChangedListener() {
+            @Override
+            public void onThermalStatusChanged(int status) {
+                PowerState.this.onThermalStatusChanged(status);
+            }
+        });
+    }
+
+    private void onThermalStatusChanged(int status) {
+        mThermalThrottling = status >= PowerManager.THERMAL_STATUS_MODERATE;
+    }
+
+    boolean isLowPower() {
+        return mPowerSaveMode || mThermalThrottling;
+    }
+}
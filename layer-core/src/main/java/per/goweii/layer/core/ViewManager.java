@@ -8,6 +8,7 @@ import android.view.ViewTreeObserver;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import per.goweii.layer.core.utils.BackPressedCompat;
 import per.goweii.layer.core.utils.Utils;
 
 /**
@@ -17,9 +18,18 @@ import per.goweii.layer.core.utils.Utils;
  * {@link #onDetach()}
  */
 public final class ViewManager {
+    /**
+     * 通过{@link BackPressedCompat}收到返回时转换成的按键事件，只读，所有浮层共用
+     */
+    private static final KeyEvent BACK_KEY_EVENT = new KeyEvent(KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_BACK);
+
     private ViewGroup mParent = null;
     private View mChild = null;
 
+    private boolean mBackPressedDispatcherEnabled = true;
+    private Object mBackPressedCallback = null;
+    private LayerBackListener mLayerBackListener = null;
+
     private LayerKeyListener mLayerKeyListener = null;
     private LayerGlobalFocusChangeListener mLayerGlobalFocusChangeListener = null;
 
@@ -27,6 +37,7 @@ public final class ViewManager {
 
     private OnLifeListener mOnLifeListener = null;
     private OnKeyListener mOnKeyListener = null;
+    private OnBackProgressListener mOnBackProgressListener = null;
 
     public ViewManager() {
     }
@@ -89,6 +100,14 @@ public final class ViewManager {
         mOnLifeListener = onLifeListener;
     }
 
+    /**
+     * 是否优先通过{@link BackPressedCompat}接收返回键，默认开启，不可用时仍通过焦点View的按键监听
+     * 需在{@link #setOnKeyListener(OnKeyListener)}前设置
+     */
+    public void setBackPressedDispatcherEnabled(boolean enabled) {
+        mBackPressedDispatcherEnabled = enabled;
+    }
+
     public void setOnKeyListener(@Nullable OnKeyListener onKeyListener) {
         mOnKeyListener = onKeyListener;
         if (mOnKeyListener != null) {
@@ -100,7 +119,30 @@ public final class ViewManager {
         }
     }
 
+    /**
+     * 预测性返回手势的进度，只在通过{@link BackPressedCompat}接收返回键时回调
+     */
+    public void setOnBackProgressListener(@Nullable OnBackProgressListener onBackProgressListener) {
+        if (mLayerBackListener != null && mOnBackProgressListener != onBackProgressListener) {
+            mLayerBackListener.cancelBackProgress();
+        }
+        mOnBackProgressListener = onBackProgressListener;
+    }
+
     private void registerKeyListener() {
+        if (mBackPressedCallback != null) {
+            return;
+        }
+        if (mBackPressedDispatcherEnabled) {
+            // 只需要返回键时不再抢占焦点，也不用在焦点变化时重新绑定
+            if (mLayerBackListener == null) {
+                mLayerBackListener = new LayerBackListener();
+            }
+            mBackPressedCallback = BackPressedCompat.addCallback(mChild, mLayerBackListener);
+            if (mBackPressedCallback != null) {
+                return;
+            }
+        }
         mChild.setFocusable(true);
         mChild.setFocusableInTouchMode(true);
         mLayerKeyListener = new LayerKeyListener();
@@ -110,6 +152,12 @@ public final class ViewManager {
     }
 
     private void unregisterKeyListener() {
+        if (mBackPressedCallback != null) {
+            // 手势进行中被移除时不会再收到结束回调
+            mLayerBackListener.cancelBackProgress();
+            BackPressedCompat.removeCallback(mBackPressedCallback);
+            mBackPressedCallback = null;
+        }
         if (mCurrentKeyView != null) {
             mCurrentKeyView.setOnKeyListener(null);
             mLayerKeyListener = null;
@@ -196,6 +244,56 @@ public final class ViewManager {
         }
     }
 
+    private final class LayerBackListener implements BackPressedCompat.OnBackListener {
+        private boolean mBackInProgress = false;
+
+        @Override
+        public void onBackStarted() {
+            if (!isAttached() || mOnBackProgressListener == null) {
+                return;
+            }
+            mBackInProgress = true;
+            mOnBackProgressListener.onBackStarted();
+        }
+
+        @Override
+        public void onBackProgressed(float progress) {
+            if (mBackInProgress && mOnBackProgressListener != null) {
+                mOnBackProgressListener.onBackProgressed(progress);
+            }
+        }
+
+        @Override
+        public void onBackCancelled() {
+            cancelBackProgress();
+        }
+
+        void cancelBackProgress() {
+            if (mBackInProgress) {
+                mBackInProgress = false;
+                if (mOnBackProgressListener != null) {
+                    mOnBackProgressListener.onBackCancelled();
+                }
+            }
+        }
+
+        @Override
+        public boolean onBack() {
+            final boolean backInProgress = mBackInProgress;
+            mBackInProgress = false;
+            if (!isAttached()) {
+                return false;
+            }
+            if (backInProgress && mOnBackProgressListener != null && mOnBackProgressListener.onBackInvoked()) {
+                return true;
+            }
+            if (mOnKeyListener == null) {
+                return false;
+            }
+            return mOnKeyListener.onKey(KeyEvent.KEYCODE_BACK, BACK_KEY_EVENT);
+        }
+    }
+
     private final class LayerKeyListener implements View.OnKeyListener {
         @Override
         public boolean onKey(View v, int keyCode, KeyEvent event) {
@@ -218,4 +316,19 @@ public final class ViewManager {
     public interface OnKeyListener {
         boolean onKey(int keyCode, KeyEvent event);
     }
+
+    public interface OnBackProgressListener {
+        void onBackStarted();
+
+        void onBackProgressed(float progress);
+
+        void onBackCancelled();
+
+        /**
+         * 返回手势完成
+         *
+         * @return 是否已处理，未处理时按返回键交给{@link OnKeyListener}
+         */
+        boolean onBackInvoked();
+    }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package per.goweii.layer.core.anim;
 
 import android.animation.Animator;
-import android.animation.AnimatorSet;
+import android.animation.TimeInterpolator;
 import android.view.View;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.DecelerateInterpolator;
@@ -56,13 +56,14 @@ public enum AnimStyle implements Layer.AnimatorCreator {
             case RIGHT_ALPHA:
                 return AnimatorHelper.createRightAlphaInAnim(target);
             case BOTTOM_ZOOM_ALPHA:
-                AnimatorSet set = new AnimatorSet();
-                Animator a1 = AnimatorHelper.createBottomAlphaInAnim(target, 0.3F);
-                a1.setInterpolator(new DecelerateInterpolator(2.5f));
-                Animator a2 = AnimatorHelper.createZoomAlphaInAnim(target, 0.9F);
-                a2.setInterpolator(new DecelerateInterpolator(1.5f));
-                set.playTogether(a1, a2);
-                return set;
+                target.setPivotX(target.getMeasuredWidth() * 0.5F);
+                target.setPivotY(target.getMeasuredHeight() * 0.5F);
+                TimeInterpolator zoomIn = new DecelerateInterpolator(1.5F);
+                return new MultiPropertyAnimator(target)
+                        .addProperty(View.ALPHA, 0, 1, zoomIn)
+                        .addProperty(View.TRANSLATION_Y, 0.3F * target.getMeasuredHeight(), 0, new DecelerateInterpolator(2.5F))
+                        .addProperty(View.SCALE_X, 0.9F, 1, zoomIn)
+                        .addProperty(View.SCALE_Y, 0.9F, 1, zoomIn);
         }
     }
 
@@ -95,13 +96,14 @@ public enum AnimStyle implements Layer.AnimatorCreator {
             case RIGHT_ALPHA:
                 return AnimatorHelper.createRightAlphaOutAnim(target);
             case BOTTOM_ZOOM_ALPHA:
-                AnimatorSet set = new AnimatorSet();
-                Animator a1 = AnimatorHelper.createBottomAlphaOutAnim(target, 0.3F);
-                a1.setInterpolator(new AccelerateInterpolator(2.5f));
-                Animator a2 = AnimatorHelper.createZoomAlphaOutAnim(target, 0.9F);
-                a2.setInterpolator(new AccelerateInterpolator(1.5f));
-                set.playTogether(a1, a2);
-                return set;
+                target.setPivotX(target.getMeasuredWidth() * 0.5F);
+                target.setPivotY(target.getMeasuredHeight() * 0.5F);
+                TimeInterpolator zoomOut = new AccelerateInterpolator(1.5F);
+                return new MultiPropertyAnimator(target)
+                        .addProperty(View.ALPHA, target.getAlpha(), 0, zoomOut)
+                        .addProperty(View.TRANSLATION_Y, target.getTranslationY(), 0.3F * target.getMeasuredHeight(), new AccelerateInterpolator(2.5F))
+                        .addProperty(View.SCALE_X, target.getScaleX(), 0.9F, zoomOut)
+                        .addProperty(View.SCALE_Y, target.getScaleY(), 0.9F, zoomOut);
         }
     }
 }
\ No newline at end of file
@@ -9,14 +9,17 @@ import android.os.Build;
 import android.view.View;
 import android.view.ViewAnimationUtils;
 import android.view.ViewGroup;
+import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.DecelerateInterpolator;
 
+import androidx.annotation.FloatRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
 import java.util.ArrayList;
-import java.util.List;
+
+import per.goweii.layer.core.LayerAnimationPolicy;
 
 public class AnimatorHelper {
     public static final float ZOOM_PERCENT = 0.9F;
@@ -49,7 +52,7 @@ public class AnimatorHelper {
     @NonNull
     public static Animator createAlphaInAnim(@NonNull final View target,
                                              @Nullable TimeInterpolator alphaInterpolator) {
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", 0, 1);
+        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, View.ALPHA, 0, 1);
         if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
         return alpha;
     }
@@ -64,7 +67,7 @@ public class AnimatorHelper {
     @NonNull
     public static Animator createAlphaOutAnim(@NonNull final View target,
                                               @Nullable TimeInterpolator alphaInterpolator) {
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", target.getAlpha(), 0);
+        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, View.ALPHA, target.getAlpha(), 0);
         if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
         return alpha;
     }
@@ -113,15 +116,9 @@ public class AnimatorHelper {
                                             @Nullable TimeInterpolator zoomInterpolator) {
         target.setPivotX(centerX);
         target.setPivotY(centerY);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", 0, 1);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", 0, 1);
-        if (zoomInterpolator != null) {
-            scaleX.setInterpolator(zoomInterpolator);
-            scaleY.setInterpolator(zoomInterpolator);
-        }
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(scaleX, scaleY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.SCALE_X, 0, 1, zoomInterpolator)
+                .addProperty(View.SCALE_Y, 0, 1, zoomInterpolator);
     }
 
     // ZoomOut
@@ -161,15 +158,9 @@ public class AnimatorHelper {
                                              @Nullable TimeInterpolator zoomInterpolator) {
         target.setPivotX(centerX);
         target.setPivotY(centerY);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", target.getScaleX(), 0);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", target.getScaleY(), 0);
-        if (zoomInterpolator != null) {
-            scaleX.setInterpolator(zoomInterpolator);
-            scaleY.setInterpolator(zoomInterpolator);
-        }
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(scaleX, scaleY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.SCALE_X, target.getScaleX(), 0, zoomInterpolator)
+                .addProperty(View.SCALE_Y, target.getScaleY(), 0, zoomInterpolator);
     }
 
     @NonNull
@@ -245,17 +236,10 @@ public class AnimatorHelper {
                                                  @Nullable TimeInterpolator alphaInterpolator) {
         target.setPivotX(centerX);
         target.setPivotY(centerY);
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", 0, 1);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", fromScale, 1);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", fromScale, 1);
-        if (zoomInterpolator != null) {
-            scaleX.setInterpolator(zoomInterpolator);
-            scaleY.setInterpolator(zoomInterpolator);
-        }
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, scaleX, scaleY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, 0, 1, alphaInterpolator)
+                .addProperty(View.SCALE_X, fromScale, 1, zoomInterpolator)
+                .addProperty(View.SCALE_Y, fromScale, 1, zoomInterpolator);
     }
 
     // ZoomAlphaOut
@@ -324,17 +308,10 @@ public class AnimatorHelper {
                                                   @Nullable TimeInterpolator alphaInterpolator) {
         target.setPivotX(centerX);
         target.setPivotY(centerY);
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", target.getAlpha(), 0);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", target.getScaleX(), toScale);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", target.getScaleY(), toScale);
-        if (zoomInterpolator != null) {
-            scaleX.setInterpolator(zoomInterpolator);
-            scaleY.setInterpolator(zoomInterpolator);
-        }
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, scaleX, scaleY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, target.getAlpha(), 0, alphaInterpolator)
+                .addProperty(View.SCALE_X, target.getScaleX(), toScale, zoomInterpolator)
+                .addProperty(View.SCALE_Y, target.getScaleY(), toScale, zoomInterpolator);
     }
 
     // TopIn
@@ -347,7 +324,7 @@ public class AnimatorHelper {
     @NonNull
     public static Animator createTopInAnim(@NonNull final View target,
                                            @Nullable TimeInterpolator topInterpolator) {
-        ObjectAnimator top = ObjectAnimator.ofFloat(target, "translationY", -target.getBottom(), 0);
+        ObjectAnimator top = ObjectAnimator.ofFloat(target, View.TRANSLATION_Y, -target.getBottom(), 0);
         if (topInterpolator != null) top.setInterpolator(topInterpolator);
         return top;
     }
@@ -361,7 +338,7 @@ public class AnimatorHelper {
 
     @NonNull
     public static Animator createTopOutAnim(@NonNull final View target, TimeInterpolator topInterpolator) {
-        ObjectAnimator top = ObjectAnimator.ofFloat(target, "translationY", target.getTranslationY(), -target.getBottom());
+        ObjectAnimator top = ObjectAnimator.ofFloat(target, View.TRANSLATION_Y, target.getTranslationY(), -target.getBottom());
         if (topInterpolator != null) top.setInterpolator(topInterpolator);
         return top;
     }
@@ -386,13 +363,9 @@ public class AnimatorHelper {
                                                 @Nullable TimeInterpolator yInterpolator,
                                                 @Nullable TimeInterpolator alphaInterpolator) {
         float y = percentTargetHeight * target.getMeasuredHeight();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", 0, 1);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", -y, 0);
-        if (yInterpolator != null) translationY.setInterpolator(yInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, 0, 1, alphaInterpolator)
+                .addProperty(View.TRANSLATION_Y, -y, 0, yInterpolator);
     }
 
     // TopAlphaOut
@@ -415,13 +388,9 @@ public class AnimatorHelper {
                                                  @Nullable TimeInterpolator yInterpolator,
                                                  @Nullable TimeInterpolator alphaInterpolator) {
         float y = percentTargetHeight * target.getMeasuredHeight();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", target.getAlpha(), 0);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", target.getTranslationY(), -y);
-        if (yInterpolator != null) translationY.setInterpolator(yInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, target.getAlpha(), 0, alphaInterpolator)
+                .addProperty(View.TRANSLATION_Y, target.getTranslationY(), -y, yInterpolator);
     }
 
     // BottomIn
@@ -435,7 +404,7 @@ public class AnimatorHelper {
     public static Animator createBottomInAnim(@NonNull final View target,
                                               @Nullable TimeInterpolator yInterpolator) {
         float y = ((ViewGroup) target.getParent()).getMeasuredHeight() - target.getTop();
-        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", y, 0);
+        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, View.TRANSLATION_Y, y, 0);
         if (yInterpolator != null) translationY.setInterpolator(yInterpolator);
         return translationY;
     }
@@ -460,13 +429,9 @@ public class AnimatorHelper {
                                                    @Nullable TimeInterpolator yInterpolator,
                                                    @Nullable TimeInterpolator alphaInterpolator) {
         float y = percentTargetHeight * target.getMeasuredHeight();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", 0, 1);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", y, 0);
-        if (yInterpolator != null) translationY.setInterpolator(yInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, 0, 1, alphaInterpolator)
+                .addProperty(View.TRANSLATION_Y, y, 0, yInterpolator);
     }
 
     // BottomOut
@@ -480,7 +445,7 @@ public class AnimatorHelper {
     public static Animator createBottomOutAnim(@NonNull final View target,
                                                @Nullable TimeInterpolator yInterpolator) {
         float y = ((ViewGroup) target.getParent()).getMeasuredHeight() - target.getTop();
-        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", target.getTranslationY(), y);
+        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, View.TRANSLATION_Y, target.getTranslationY(), y);
         if (yInterpolator != null) translationY.setInterpolator(yInterpolator);
         return translationY;
     }
@@ -505,13 +470,9 @@ public class AnimatorHelper {
                                                     @Nullable TimeInterpolator yInterpolator,
                                                     @Nullable TimeInterpolator alphaInterpolator) {
         float y = percentTargetHeight * target.getMeasuredHeight();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", target.getAlpha(), 0);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", target.getTranslationY(), y);
-        if (yInterpolator != null) translationY.setInterpolator(yInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationY);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, target.getAlpha(), 0, alphaInterpolator)
+                .addProperty(View.TRANSLATION_Y, target.getTranslationY(), y, yInterpolator);
     }
 
     // LeftIn
@@ -524,7 +485,7 @@ public class AnimatorHelper {
     @NonNull
     public static Animator createLeftInAnim(@NonNull final View target,
                                             @Nullable TimeInterpolator xInterpolator) {
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", -target.getRight(), 0);
+        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, View.TRANSLATION_X, -target.getRight(), 0);
         if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
         return translationX;
     }
@@ -539,7 +500,7 @@ public class AnimatorHelper {
     @NonNull
     public static Animator createLeftOutAnim(@NonNull final View target,
                                              @Nullable TimeInterpolator xInterpolator) {
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", target.getTranslationX(), -target.getRight());
+        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, View.TRANSLATION_X, target.getTranslationX(), -target.getRight());
         if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
         return translationX;
     }
@@ -564,13 +525,9 @@ public class AnimatorHelper {
                                                  @Nullable TimeInterpolator xInterpolator,
                                                  @Nullable TimeInterpolator alphaInterpolator) {
         float x = percentTargetWidth * target.getMeasuredWidth();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", 0, 1);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", -x, 0);
-        if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationX);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, 0, 1, alphaInterpolator)
+                .addProperty(View.TRANSLATION_X, -x, 0, xInterpolator);
     }
 
     // LeftAlphaOut
@@ -593,13 +550,9 @@ public class AnimatorHelper {
                                                   @Nullable TimeInterpolator xInterpolator,
                                                   @Nullable TimeInterpolator alphaInterpolator) {
         float x = percentTargetWidth * target.getMeasuredWidth();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", target.getAlpha(), 0);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", target.getTranslationX(), -x);
-        if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationX);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, target.getAlpha(), 0, alphaInterpolator)
+                .addProperty(View.TRANSLATION_X, target.getTranslationX(), -x, xInterpolator);
     }
 
     // RightIn
@@ -613,7 +566,7 @@ public class AnimatorHelper {
     public static Animator createRightInAnim(@NonNull final View target,
                                              @Nullable TimeInterpolator xInterpolator) {
         float x = ((ViewGroup) target.getParent()).getMeasuredWidth() - target.getLeft();
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", x, 0);
+        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, View.TRANSLATION_X, x, 0);
         if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
         return translationX;
     }
@@ -629,7 +582,7 @@ public class AnimatorHelper {
     public static Animator createRightOutAnim(@NonNull final View target,
                                               @Nullable TimeInterpolator xInterpolator) {
         float x = ((ViewGroup) target.getParent()).getMeasuredWidth() - target.getLeft();
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", target.getTranslationX(), x);
+        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, View.TRANSLATION_X, target.getTranslationX(), x);
         if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
         return translationX;
     }
@@ -654,13 +607,9 @@ public class AnimatorHelper {
                                                   @Nullable TimeInterpolator xInterpolator,
                                                   @Nullable TimeInterpolator alphaInterpolator) {
         float x = percentTargetWidth * target.getMeasuredWidth();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", 0, 1);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", x, 0);
-        if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationX);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, 0, 1, alphaInterpolator)
+                .addProperty(View.TRANSLATION_X, x, 0, xInterpolator);
     }
 
     // RightAlphaOut
@@ -683,13 +632,9 @@ public class AnimatorHelper {
                                                    @Nullable TimeInterpolator xInterpolator,
                                                    @Nullable TimeInterpolator alphaInterpolator) {
         float x = percentTargetWidth * target.getMeasuredWidth();
-        ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", target.getAlpha(), 0);
-        if (alphaInterpolator != null) alpha.setInterpolator(alphaInterpolator);
-        ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", target.getTranslationX(), x);
-        if (xInterpolator != null) translationX.setInterpolator(xInterpolator);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(alpha, translationX);
-        return set;
+        return new MultiPropertyAnimator(target)
+                .addProperty(View.ALPHA, target.getAlpha(), 0, alphaInterpolator)
+                .addProperty(View.TRANSLATION_X, target.getTranslationX(), x, xInterpolator);
     }
 
     // CircularRevealIn
@@ -733,6 +678,9 @@ public class AnimatorHelper {
                                                       int centerX,
                                                       int centerY,
                                                       @Nullable TimeInterpolator timeInterpolator) {
+        if (LayerAnimationPolicy.shouldReduceEffects(target.getContext())) {
+            return createAlphaInAnim(target, timeInterpolator);
+        }
         int x = target.getMeasuredWidth();
         int y = target.getMeasuredHeight();
         int r = (int) Math.sqrt(Math.pow(Math.max(centerX, x - centerX), 2) + Math.pow(Math.max(centerY, y - centerY), 2));
@@ -782,6 +730,9 @@ public class AnimatorHelper {
                                                        int centerX,
                                                        int centerY,
                                                        @Nullable TimeInterpolator timeInterpolator) {
+        if (LayerAnimationPolicy.shouldReduceEffects(target.getContext())) {
+            return createAlphaOutAnim(target, timeInterpolator);
+        }
         int x = target.getMeasuredWidth();
         int y = target.getMeasuredHeight();
         int r = (int) Math.sqrt(Math.pow(Math.max(centerX, x - centerX), 2) + Math.pow(Math.max(centerY, y - centerY), 2));
@@ -833,45 +784,20 @@ public class AnimatorHelper {
         if (!(target instanceof ViewGroup)) {
             return createZoomInAnim(target, centerX, centerY);
         }
-        final ViewGroup targetGroup = (ViewGroup) target;
-        for (int i = 0; i < targetGroup.getChildCount(); i++) {
-            View targetChild = targetGroup.getChildAt(i);
-            targetChild.setAlpha(0);
-        }
-        targetGroup.setPivotX(centerX);
-        targetGroup.setPivotY(centerY);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(targetGroup, "scaleX", 0, 1);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(targetGroup, "scaleY", 0, 1);
-        if (zoomInterpolator != null) {
-            scaleX.setInterpolator(zoomInterpolator);
-            scaleY.setInterpolator(zoomInterpolator);
-        }
+        target.setPivotX(centerX);
+        target.setPivotY(centerY);
+        Animator zoom = new MultiPropertyAnimator(target, 2)
+                .addProperty(View.SCALE_X, 0, 1, zoomInterpolator)
+                .addProperty(View.SCALE_Y, 0, 1, zoomInterpolator);
+        // 缩放到0.618时子控件开始依次淡入
+        Animator alpha = new StaggerAnimator((ViewGroup) target)
+                .addProperty(View.ALPHA, 0, 1)
+                .setStartFraction(findFraction(zoomInterpolator, 0.618F))
+                .setChildDuration(50)
+                .setChildDelay(18)
+                .setChildInterpolator(alphaInterpolator);
         AnimatorSet set = new AnimatorSet();
-        set.playTogether(scaleX, scaleY);
-        scaleX.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            private boolean isChildAnimStart = false;
-
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float f = animation.getAnimatedFraction();
-                if (!isChildAnimStart && f > 0.618F) {
-                    isChildAnimStart = true;
-                    final List<Animator> childAnimators = new ArrayList<>(targetGroup.getChildCount());
-                    for (int i = 0; i < targetGroup.getChildCount(); i++) {
-                        View targetChild = targetGroup.getChildAt(i);
-                        ObjectAnimator alphaChild = ObjectAnimator.ofFloat(targetChild, "alpha", 0, 1);
-                        if (alphaInterpolator != null)
-                            alphaChild.setInterpolator(alphaInterpolator);
-                        alphaChild.setStartDelay(18 * i);
-                        alphaChild.setDuration(50);
-                        childAnimators.add(alphaChild);
-                    }
-                    AnimatorSet set = new AnimatorSet();
-                    set.playTogether(childAnimators);
-                    set.start();
-                }
-            }
-        });
+        set.playTogether(zoom, alpha);
         return set;
     }
 
@@ -918,40 +844,96 @@ public class AnimatorHelper {
         if (!(target instanceof ViewGroup)) {
             return createZoomInAnim(target, centerX, centerY);
         }
-        final ViewGroup targetGroup = (ViewGroup) target;
-        targetGroup.setPivotX(centerX);
-        targetGroup.setPivotY(centerY);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(targetGroup, "scaleX", targetGroup.getScaleX(), 0);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(targetGroup, "scaleY", targetGroup.getScaleY(), 0);
-        if (zoomInterpolator != null) {
-            scaleX.setInterpolator(zoomInterpolator);
-            scaleY.setInterpolator(zoomInterpolator);
-        }
+        target.setPivotX(centerX);
+        target.setPivotY(centerY);
+        Animator zoom = new MultiPropertyAnimator(target, 2)
+                .addProperty(View.SCALE_X, target.getScaleX(), 0, zoomInterpolator)
+                .addProperty(View.SCALE_Y, target.getScaleY(), 0, zoomInterpolator);
+        Animator alpha = new StaggerAnimator((ViewGroup) target)
+                .addProperty(View.ALPHA, 0)
+                .setChildDuration(50)
+                .setChildDelay(18)
+                .setReverseOrder(true)
+                .setChildInterpolator(alphaInterpolator);
         AnimatorSet set = new AnimatorSet();
-        set.playTogether(scaleX, scaleY);
-        scaleX.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            private boolean isChildAnimStart = false;
-
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                if (!isChildAnimStart) {
-                    isChildAnimStart = true;
-                    final List<Animator> childAnimators = new ArrayList<>(targetGroup.getChildCount());
-                    for (int i = targetGroup.getChildCount() - 1; i >= 0; i--) {
-                        View targetChild = targetGroup.getChildAt(i);
-                        ObjectAnimator alphaChild = ObjectAnimator.ofFloat(targetChild, "alpha", targetChild.getAlpha(), 0);
-                        if (alphaInterpolator != null)
-                            alphaChild.setInterpolator(alphaInterpolator);
-                        alphaChild.setStartDelay(18 * (targetGroup.getChildCount() - 1 - i));
-                        alphaChild.setDuration(50);
-                        childAnimators.add(alphaChild);
-                    }
-                    AnimatorSet set = new AnimatorSet();
-                    set.playTogether(childAnimators);
-                    set.start();
-                }
-            }
-        });
+        set.playTogether(zoom, alpha);
         return set;
     }
+
+    /**
+     * 插值结果首次达到value时的输入进度
+     *
+     * @param interpolator 为null时和ValueAnimator一致使用AccelerateDecelerateInterpolator
+     */
+    static float findFraction(@Nullable TimeInterpolator interpolator, float value) {
+        if (interpolator == null) {
+            interpolator = new AccelerateDecelerateInterpolator();
+        }
+        float low = 0F;
+        float high = 1F;
+        for (int i = 0; i < 16; i++) {
+            final float mid = (low + high) / 2F;
+            if (interpolator.getInterpolation(mid) < value) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * 将动画定位到指定进度，无需开始动画，可多次调用
+     * API 26以下的AnimatorSet按相同进度定位每个子动画，忽略子动画的先后顺序
+     * 圆形揭露等非ValueAnimator的动画无法定位
+     */
+    public static void seekTo(@NonNull Animator animator, @FloatRange(from = 0, to = 1) float fraction) {
+        fraction = Math.max(0F, Math.min(1F, fraction));
+        prepareForSeek(animator);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && animator instanceof AnimatorSet) {
+            final AnimatorSet set = (AnimatorSet) animator;
+            final long total = set.getTotalDuration();
+            if (total == Animator.DURATION_INFINITE) {
+                return;
+            }
+            set.setCurrentPlayTime((long) ((total - set.getStartDelay()) * fraction));
+            return;
+        }
+        if (animator instanceof ValueAnimator) {
+            final ValueAnimator valueAnimator = (ValueAnimator) animator;
+            valueAnimator.setCurrentPlayTime((long) (valueAnimator.getDuration() * fraction));
+            return;
+        }
+        if (animator instanceof AnimatorSet) {
+            final ArrayList<Animator> children = ((AnimatorSet) animator).getChildAnimations();
+            for (int i = 0; i < children.size(); i++) {
+                seekTo(children.get(i), fraction);
+            }
+        }
+    }
+
+    private static void prepareForSeek(@NonNull Animator animator) {
+        if (animator instanceof Seekable) {
+            ((Seekable) animator).prepareForSeek();
+            return;
+        }
+        if (animator instanceof AnimatorSet) {
+            final ArrayList<Animator> children = ((AnimatorSet) animator).getChildAnimations();
+            for (int i = 0; i < children.size(); i++) {
+                prepareForSeek(children.get(i));
+            }
+        }
+    }
+
+    /**
+     * 从指定进度开始动画
+     * API 26以下运行中的AnimatorSet无法定位，从头开始
+     */
+    public static void startFrom(@NonNull Animator animator, @FloatRange(from = 0, to = 1) float fraction) {
+        animator.start();
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O && animator instanceof AnimatorSet) {
+            return;
+        }
+        seekTo(animator, fraction);
+    }
 }
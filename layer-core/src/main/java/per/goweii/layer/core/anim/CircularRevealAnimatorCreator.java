@@ -13,6 +13,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
 import per.goweii.layer.core.Layer;
+import per.goweii.layer.core.LayerAnimationPolicy;
 
 @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
 public class CircularRevealAnimatorCreator implements Layer.AnimatorCreator {
@@ -60,6 +61,9 @@ public class CircularRevealAnimatorCreator implements Layer.AnimatorCreator {
     @Nullable
     @Override
     public Animator createInAnimator(@NonNull View target) {
+        if (LayerAnimationPolicy.shouldReduceEffects(target.getContext())) {
+            return AnimatorHelper.createAlphaInAnim(target, mInTimeInterpolator);
+        }
         int x = target.getWidth();
         int y = target.getHeight();
         int centerX = mUsePercentX ? (int) (mCenterPercentX * x) : mCenterX;
@@ -77,6 +81,9 @@ public class CircularRevealAnimatorCreator implements Layer.AnimatorCreator {
     @Nullable
     @Override
     public Animator createOutAnimator(@NonNull View target) {
+        if (LayerAnimationPolicy.shouldReduceEffects(target.getContext())) {
+            return AnimatorHelper.createAlphaOutAnim(target, mOutTimeInterpolator);
+        }
         int x = target.getWidth();
         int y = target.getHeight();
         int centerX = mUsePercentX ? (int) (mCenterPercentX * x) : mCenterX;
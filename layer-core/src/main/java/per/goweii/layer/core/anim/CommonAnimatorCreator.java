@@ -5,8 +5,10 @@ import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.animation.TimeInterpolator;
 import android.view.View;
+import android.view.animation.LinearInterpolator;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,8 @@ import per.goweii.layer.core.Layer;
 
 public class CommonAnimatorCreator implements Layer.AnimatorCreator {
 
+    private static final TimeInterpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
+
     public interface Attr {
         @NonNull
         Animator createIn(@NonNull View target);
@@ -23,7 +27,26 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
         Animator createOut(@NonNull View target);
     }
 
-    public static class AlphaAttr implements Attr {
+    /**
+     * 可合并到同一个{@link MultiPropertyAnimator}中的属性
+     */
+    interface PropertyAttr extends Attr {
+        int getPropertyCount();
+
+        void addInProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target);
+
+        void addOutProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target);
+    }
+
+    /**
+     * 和ObjectAnimator一致，未设置插值器时为线性
+     */
+    @NonNull
+    private static TimeInterpolator orLinear(@Nullable TimeInterpolator interpolator) {
+        return interpolator != null ? interpolator : LINEAR_INTERPOLATOR;
+    }
+
+    public static class AlphaAttr implements PropertyAttr {
         private float from = 0F;
         private float to = 1F;
 
@@ -59,7 +82,7 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
         @NonNull
         @Override
         public Animator createIn(@NonNull View target) {
-            ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", from, to);
+            ObjectAnimator alpha = ObjectAnimator.ofFloat(target, View.ALPHA, from, to);
             alpha.setInterpolator(inTimeInterpolator);
             return alpha;
         }
@@ -67,13 +90,28 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
         @NonNull
         @Override
         public Animator createOut(@NonNull View target) {
-            ObjectAnimator alpha = ObjectAnimator.ofFloat(target, "alpha", from, to);
+            ObjectAnimator alpha = ObjectAnimator.ofFloat(target, View.ALPHA, from, to);
             alpha.setInterpolator(outTimeInterpolator);
             return alpha;
         }
+
+        @Override
+        public int getPropertyCount() {
+            return 1;
+        }
+
+        @Override
+        public void addInProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target) {
+            animator.addProperty(View.ALPHA, from, to, orLinear(inTimeInterpolator));
+        }
+
+        @Override
+        public void addOutProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target) {
+            animator.addProperty(View.ALPHA, from, to, orLinear(outTimeInterpolator));
+        }
     }
 
-    public static class ScaleAttr implements Attr {
+    public static class ScaleAttr implements PropertyAttr {
         private float fromX = 0F;
         private float fromY = 0F;
         private float toX = 1F;
@@ -208,33 +246,42 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
         @NonNull
         @Override
         public Animator createIn(@NonNull View target) {
-            AnimatorSet set = new AnimatorSet();
-            ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", fromX, toX);
-            ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", fromY, toY);
-            target.setPivotX(getPivotX(target));
-            target.setPivotY(getPivotY(target));
-            scaleX.setInterpolator(xInTimeInterpolator);
-            scaleY.setInterpolator(yInTimeInterpolator);
-            set.playTogether(scaleX, scaleY);
-            return set;
+            MultiPropertyAnimator animator = new MultiPropertyAnimator(target, getPropertyCount());
+            addInProperties(animator, target);
+            return animator;
         }
 
         @NonNull
         @Override
         public Animator createOut(@NonNull View target) {
-            AnimatorSet set = new AnimatorSet();
-            ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", target.getScaleX(), fromX);
-            ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", target.getScaleY(), fromY);
+            MultiPropertyAnimator animator = new MultiPropertyAnimator(target, getPropertyCount());
+            addOutProperties(animator, target);
+            return animator;
+        }
+
+        @Override
+        public int getPropertyCount() {
+            return 2;
+        }
+
+        @Override
+        public void addInProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target) {
+            target.setPivotX(getPivotX(target));
+            target.setPivotY(getPivotY(target));
+            animator.addProperty(View.SCALE_X, fromX, toX, orLinear(xInTimeInterpolator));
+            animator.addProperty(View.SCALE_Y, fromY, toY, orLinear(yInTimeInterpolator));
+        }
+
+        @Override
+        public void addOutProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target) {
             target.setPivotX(getPivotX(target));
             target.setPivotY(getPivotY(target));
-            scaleX.setInterpolator(xOutTimeInterpolator);
-            scaleY.setInterpolator(yOutTimeInterpolator);
-            set.playTogether(scaleX, scaleY);
-            return set;
+            animator.addProperty(View.SCALE_X, target.getScaleX(), fromX, orLinear(xOutTimeInterpolator));
+            animator.addProperty(View.SCALE_Y, target.getScaleY(), fromY, orLinear(yOutTimeInterpolator));
         }
     }
 
-    public static class TranslationAttr implements Attr {
+    public static class TranslationAttr implements PropertyAttr {
         private float fromX = 0F;
         private float fromY = 0F;
         private float toX = 0F;
@@ -391,25 +438,34 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
         @NonNull
         @Override
         public Animator createIn(@NonNull View target) {
-            AnimatorSet set = new AnimatorSet();
-            ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", getFromX(target), getToX(target));
-            ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", getFromY(target), getToY(target));
-            translationX.setInterpolator(xInTimeInterpolator);
-            translationY.setInterpolator(yInTimeInterpolator);
-            set.playTogether(translationX, translationY);
-            return set;
+            MultiPropertyAnimator animator = new MultiPropertyAnimator(target, getPropertyCount());
+            addInProperties(animator, target);
+            return animator;
         }
 
         @NonNull
         @Override
         public Animator createOut(@NonNull View target) {
-            AnimatorSet set = new AnimatorSet();
-            ObjectAnimator translationX = ObjectAnimator.ofFloat(target, "translationX", target.getTranslationX(), getFromX(target));
-            ObjectAnimator translationY = ObjectAnimator.ofFloat(target, "translationY", target.getTranslationY(), getFromY(target));
-            translationX.setInterpolator(xOutTimeInterpolator);
-            translationY.setInterpolator(yOutTimeInterpolator);
-            set.playTogether(translationX, translationY);
-            return set;
+            MultiPropertyAnimator animator = new MultiPropertyAnimator(target, getPropertyCount());
+            addOutProperties(animator, target);
+            return animator;
+        }
+
+        @Override
+        public int getPropertyCount() {
+            return 2;
+        }
+
+        @Override
+        public void addInProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target) {
+            animator.addProperty(View.TRANSLATION_X, getFromX(target), getToX(target), orLinear(xInTimeInterpolator));
+            animator.addProperty(View.TRANSLATION_Y, getFromY(target), getToY(target), orLinear(yInTimeInterpolator));
+        }
+
+        @Override
+        public void addOutProperties(@NonNull MultiPropertyAnimator animator, @NonNull View target) {
+            animator.addProperty(View.TRANSLATION_X, target.getTranslationX(), getFromX(target), orLinear(xOutTimeInterpolator));
+            animator.addProperty(View.TRANSLATION_Y, target.getTranslationY(), getFromY(target), orLinear(yOutTimeInterpolator));
         }
     }
 
@@ -417,8 +473,18 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
     private TimeInterpolator inTimeInterpolator = null;
     private TimeInterpolator outTimeInterpolator = null;
 
+    /**
+     * 由attrs编译而来，可合并的属性由一个{@link MultiPropertyAnimator}驱动，其余单独创建
+     * 添加属性后重新编译
+     */
+    private PropertyAttr[] propertyAttrs = null;
+    private Attr[] otherAttrs = null;
+    private int propertyCount = 0;
+
     public CommonAnimatorCreator addAttr(Attr attr) {
         this.attrs.add(attr);
+        this.propertyAttrs = null;
+        this.otherAttrs = null;
         return this;
     }
 
@@ -438,29 +504,81 @@ public class CommonAnimatorCreator implements Layer.AnimatorCreator {
         return this;
     }
 
+    private void compile() {
+        if (propertyAttrs != null) {
+            return;
+        }
+        int propertyAttrCount = 0;
+        for (Attr attr : attrs) {
+            if (attr instanceof PropertyAttr) {
+                propertyAttrCount++;
+            }
+        }
+        propertyAttrs = new PropertyAttr[propertyAttrCount];
+        otherAttrs = new Attr[attrs.size() - propertyAttrCount];
+        propertyCount = 0;
+        int p = 0, o = 0;
+        for (Attr attr : attrs) {
+            if (attr instanceof PropertyAttr) {
+                PropertyAttr propertyAttr = (PropertyAttr) attr;
+                propertyAttrs[p++] = propertyAttr;
+                propertyCount += propertyAttr.getPropertyCount();
+            } else {
+                otherAttrs[o++] = attr;
+            }
+        }
+    }
+
     @NonNull
     @Override
     public Animator createInAnimator(@NonNull View target) {
-        List<Animator> animators = new ArrayList<>(attrs.size());
-        for (Attr attr : attrs) {
-            animators.add(attr.createIn(target));
+        compile();
+        MultiPropertyAnimator animator = null;
+        if (propertyAttrs.length > 0) {
+            animator = new MultiPropertyAnimator(target, propertyCount);
+            for (PropertyAttr attr : propertyAttrs) {
+                attr.addInProperties(animator, target);
+            }
         }
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(animators);
-        set.setInterpolator(inTimeInterpolator);
-        return set;
+        return combine(animator, target, true, inTimeInterpolator);
     }
 
     @NonNull
     @Override
     public Animator createOutAnimator(@NonNull View target) {
-        List<Animator> animators = new ArrayList<>(attrs.size());
-        for (Attr attr : attrs) {
-            animators.add(attr.createOut(target));
+        compile();
+        MultiPropertyAnimator animator = null;
+        if (propertyAttrs.length > 0) {
+            animator = new MultiPropertyAnimator(target, propertyCount);
+            for (PropertyAttr attr : propertyAttrs) {
+                attr.addOutProperties(animator, target);
+            }
+        }
+        return combine(animator, target, false, outTimeInterpolator);
+    }
+
+    @NonNull
+    private Animator combine(@Nullable MultiPropertyAnimator animator,
+                             @NonNull View target,
+                             boolean in,
+                             @Nullable TimeInterpolator timeInterpolator) {
+        if (animator != null && otherAttrs.length == 0) {
+            // 和AnimatorSet一致，设置了整体插值器时覆盖各属性的插值器
+            if (timeInterpolator != null) {
+                animator.setInterpolator(timeInterpolator);
+            }
+            return animator;
+        }
+        List<Animator> animators = new ArrayList<>(otherAttrs.length + 1);
+        if (animator != null) {
+            animators.add(animator);
+        }
+        for (Attr attr : otherAttrs) {
+            animators.add(in ? attr.createIn(target) : attr.createOut(target));
         }
         AnimatorSet set = new AnimatorSet();
         set.playTogether(animators);
-        set.setInterpolator(outTimeInterpolator);
+        set.setInterpolator(timeInterpolator);
         return set;
     }
 }
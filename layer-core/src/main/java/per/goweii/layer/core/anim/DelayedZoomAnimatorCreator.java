@@ -2,8 +2,6 @@ package per.goweii.layer.core.anim;
 
 import android.animation.Animator;
 import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
-import android.animation.ValueAnimator;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.AccelerateInterpolator;
@@ -12,9 +10,6 @@ import android.view.animation.DecelerateInterpolator;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import per.goweii.layer.core.Layer;
 
 public class DelayedZoomAnimatorCreator implements Layer.AnimatorCreator {
@@ -58,40 +53,21 @@ public class DelayedZoomAnimatorCreator implements Layer.AnimatorCreator {
         int centerY = mUsePercentY ? (int) (mCenterPercentY * h) : mCenterY;
         target.setPivotX(centerX);
         target.setPivotY(centerY);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", 0, 1);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", 0, 1);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(scaleX, scaleY);
-        if (target instanceof ViewGroup) {
-            final ViewGroup targetGroup = (ViewGroup) target;
-            for (int i = 0; i < targetGroup.getChildCount(); i++) {
-                View targetChild = targetGroup.getChildAt(i);
-                targetChild.setAlpha(0);
-            }
-            scaleX.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-                private boolean isChildAnimStart = false;
-
-                @Override
-                public void onAnimationUpdate(ValueAnimator animation) {
-                    float f = animation.getAnimatedFraction();
-                    if (!isChildAnimStart && f > 0.618F) {
-                        isChildAnimStart = true;
-                        final List<Animator> childAnimators = new ArrayList<>(targetGroup.getChildCount());
-                        for (int i = 0; i < targetGroup.getChildCount(); i++) {
-                            View targetChild = targetGroup.getChildAt(i);
-                            ObjectAnimator alphaChild = ObjectAnimator.ofFloat(targetChild, "alpha", 0, 1);
-                            alphaChild.setInterpolator(new DecelerateInterpolator(1.5F));
-                            alphaChild.setStartDelay(18 * i);
-                            alphaChild.setDuration(50);
-                            childAnimators.add(alphaChild);
-                        }
-                        AnimatorSet set = new AnimatorSet();
-                        set.playTogether(childAnimators);
-                        set.start();
-                    }
-                }
-            });
+        Animator zoom = new MultiPropertyAnimator(target, 2)
+                .addProperty(View.SCALE_X, 0, 1)
+                .addProperty(View.SCALE_Y, 0, 1);
+        if (!(target instanceof ViewGroup)) {
+            return zoom;
         }
+        // 缩放到0.618时子控件开始依次淡入
+        Animator alpha = new StaggerAnimator((ViewGroup) target)
+                .addProperty(View.ALPHA, 0, 1)
+                .setStartFraction(AnimatorHelper.findFraction(null, 0.618F))
+                .setChildDuration(50)
+                .setChildDelay(18)
+                .setChildInterpolator(new DecelerateInterpolator(1.5F));
+        AnimatorSet set = new AnimatorSet();
+        set.playTogether(zoom, alpha);
         return set;
     }
 
@@ -104,35 +80,20 @@ public class DelayedZoomAnimatorCreator implements Layer.AnimatorCreator {
         int centerY = mUsePercentY ? (int) (mCenterPercentY * h) : mCenterY;
         target.setPivotX(centerX);
         target.setPivotY(centerY);
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(target, "scaleX", target.getScaleX(), 0);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(target, "scaleY", target.getScaleY(), 0);
-        AnimatorSet set = new AnimatorSet();
-        set.playTogether(scaleX, scaleY);
-        if (target instanceof ViewGroup) {
-            final ViewGroup targetGroup = (ViewGroup) target;
-            scaleX.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-                private boolean isChildAnimStart = false;
-
-                @Override
-                public void onAnimationUpdate(ValueAnimator animation) {
-                    if (!isChildAnimStart) {
-                        isChildAnimStart = true;
-                        final List<Animator> childAnimators = new ArrayList<>(targetGroup.getChildCount());
-                        for (int i = targetGroup.getChildCount() - 1; i >= 0; i--) {
-                            View targetChild = targetGroup.getChildAt(i);
-                            ObjectAnimator alphaChild = ObjectAnimator.ofFloat(targetChild, "alpha", targetChild.getAlpha(), 0);
-                            alphaChild.setInterpolator(new AccelerateInterpolator(1.5F));
-                            alphaChild.setStartDelay(18 * (targetGroup.getChildCount() - 1 - i));
-                            alphaChild.setDuration(50);
-                            childAnimators.add(alphaChild);
-                        }
-                        AnimatorSet set = new AnimatorSet();
-                        set.playTogether(childAnimators);
-                        set.start();
-                    }
-                }
-            });
+        Animator zoom = new MultiPropertyAnimator(target, 2)
+                .addProperty(View.SCALE_X, target.getScaleX(), 0)
+                .addProperty(View.SCALE_Y, target.getScaleY(), 0);
+        if (!(target instanceof ViewGroup)) {
+            return zoom;
         }
+        Animator alpha = new StaggerAnimator((ViewGroup) target)
+                .addProperty(View.ALPHA, 0)
+                .setChildDuration(50)
+                .setChildDelay(18)
+                .setReverseOrder(true)
+                .setChildInterpolator(new AccelerateInterpolator(1.5F));
+        AnimatorSet set = new AnimatorSet();
+        set.playTogether(zoom, alpha);
         return set;
     }
 }
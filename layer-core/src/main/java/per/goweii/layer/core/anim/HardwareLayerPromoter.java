@@ -0,0 +1,112 @@
+package per.goweii.layer.core.anim;
+
+import android.animation.Animator;
+import android.animation.AnimatorSet;
+import android.animation.ObjectAnimator;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * 动画期间将目标View提升为硬件层，结束后恢复原来的layerType
+ * 只处理透明度、缩放、平移和旋转动画，这类属性变化不需要重新绘制硬件层
+ * 包含其他动画（如圆形揭露或自定义ValueAnimator）时不做处理
+ */
+public final class HardwareLayerPromoter {
+    private static final String[] PROPERTY_NAMES = {
+            "alpha", "scaleX", "scaleY", "translationX", "translationY",
+            "rotation", "rotationX", "rotationY", "x", "y"
+    };
+
+    private final ArrayList<View> mTargets = new ArrayList<>(2);
+    private View[] mPromotedViews = new View[2];
+    private int mPromotedCount = 0;
+
+    /**
+     * @return 是否有View被提升为硬件层
+     */
+    public boolean promote(@NonNull Animator animator) {
+        restore();
+        mTargets.clear();
+        if (!collectTargets(animator)) {
+            mTargets.clear();
+            return false;
+        }
+        for (int i = 0; i < mTargets.size(); i++) {
+            final View view = mTargets.get(i);
+            // 软件绘制时硬件层会退化为软件层，反而更慢
+            if (!view.isHardwareAccelerated()) continue;
+            // 已设置过layerType的不做修改，结束时统一恢复为LAYER_TYPE_NONE
+            if (view.getLayerType() != View.LAYER_TYPE_NONE) continue;
+            if (indexOfPromoted(view) >= 0) continue;
+            if (mPromotedCount == mPromotedViews.length) {
+                mPromotedViews = Arrays.copyOf(mPromotedViews, mPromotedCount * 2);
+            }
+            mPromotedViews[mPromotedCount] = view;
+            mPromotedCount++;
+            view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+        mTargets.clear();
+        return mPromotedCount > 0;
+    }
+
+    public void restore() {
+        for (int i = 0; i < mPromotedCount; i++) {
+            mPromotedViews[i].setLayerType(View.LAYER_TYPE_NONE, null);
+            mPromotedViews[i] = null;
+        }
+        mPromotedCount = 0;
+    }
+
+    public boolean isPromoted() {
+        return mPromotedCount > 0;
+    }
+
+    private int indexOfPromoted(@NonNull View view) {
+        for (int i = 0; i < mPromotedCount; i++) {
+            if (mPromotedViews[i] == view) return i;
+        }
+        return -1;
+    }
+
+    private boolean collectTargets(@NonNull Animator animator) {
+        if (animator instanceof AnimatorSet) {
+            final ArrayList<Animator> children = ((AnimatorSet) animator).getChildAnimations();
+            for (int i = 0; i < children.size(); i++) {
+                if (!collectTargets(children.get(i))) return false;
+            }
+            return true;
+        }
+        if (animator instanceof MultiPropertyAnimator) {
+            final MultiPropertyAnimator multi = (MultiPropertyAnimator) animator;
+            for (int i = 0; i < multi.getPropertyCount(); i++) {
+                if (!isSupportedProperty(multi.getPropertyName(i))) return false;
+            }
+            mTargets.add(multi.getTarget());
+            return true;
+        }
+        if (animator instanceof SpringAnimatorCreator.SpringAnimator) {
+            mTargets.add(((SpringAnimatorCreator.SpringAnimator) animator).getTarget());
+            return true;
+        }
+        if (animator instanceof ObjectAnimator) {
+            final ObjectAnimator objectAnimator = (ObjectAnimator) animator;
+            final Object target = objectAnimator.getTarget();
+            if (!(target instanceof View)) return false;
+            if (!isSupportedProperty(objectAnimator.getPropertyName())) return false;
+            mTargets.add((View) target);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isSupportedProperty(String name) {
+        for (String propertyName : PROPERTY_NAMES) {
+            if (propertyName.equals(name)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,148 @@
+package per.goweii.layer.core.anim;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.os.Build;
+import android.util.FloatProperty;
+import android.util.Property;
+import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * 用一个{@link ValueAnimator}同时驱动同一个View的多个属性，替代多个{@link android.animation.ObjectAnimator}组成的{@link android.animation.AnimatorSet}
+ * 属性通过{@link Property}直接设置，无需反射查找setter，API 24及以上不会装箱
+ * 每个属性可单独设置插值器，未设置时和ObjectAnimator一样使用{@link AccelerateDecelerateInterpolator}
+ */
+public class MultiPropertyAnimator extends ValueAnimator implements ValueAnimator.AnimatorUpdateListener {
+    private static final TimeInterpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
+    private static final TimeInterpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+    private final View mTarget;
+
+    private Property<View, Float>[] mProperties;
+    private float[] mFromValues;
+    private float[] mToValues;
+    private TimeInterpolator[] mInterpolators;
+    private int mPropertyCount = 0;
+
+    public MultiPropertyAnimator(@NonNull View target) {
+        this(target, 4);
+    }
+
+    /**
+     * @param capacity 预计的属性数量
+     */
+    @SuppressWarnings("unchecked")
+    public MultiPropertyAnimator(@NonNull View target, int capacity) {
+        capacity = Math.max(capacity, 1);
+        mTarget = target;
+        mProperties = new Property[capacity];
+        mFromValues = new float[capacity];
+        mToValues = new float[capacity];
+        mInterpolators = new TimeInterpolator[capacity];
+        setFloatValues(0F, 1F);
+        super.setInterpolator(LINEAR_INTERPOLATOR);
+        addUpdateListener(this);
+    }
+
+    @NonNull
+    public View getTarget() {
+        return mTarget;
+    }
+
+    @NonNull
+    public MultiPropertyAnimator addProperty(@NonNull Property<View, Float> property,
+                                             float from,
+                                             float to) {
+        return addProperty(property, from, to, null);
+    }
+
+    @NonNull
+    public MultiPropertyAnimator addProperty(@NonNull Property<View, Float> property,
+                                             float from,
+                                             float to,
+                                             @Nullable TimeInterpolator interpolator) {
+        if (mPropertyCount == mProperties.length) {
+            final int capacity = mPropertyCount * 2;
+            mProperties = Arrays.copyOf(mProperties, capacity);
+            mFromValues = Arrays.copyOf(mFromValues, capacity);
+            mToValues = Arrays.copyOf(mToValues, capacity);
+            mInterpolators = Arrays.copyOf(mInterpolators, capacity);
+        }
+        mProperties[mPropertyCount] = property;
+        mFromValues[mPropertyCount] = from;
+        mToValues[mPropertyCount] = to;
+        mInterpolators[mPropertyCount] = interpolator != null ? interpolator : DEFAULT_INTERPOLATOR;
+        mPropertyCount++;
+        return this;
+    }
+
+    public int getPropertyCount() {
+        return mPropertyCount;
+    }
+
+    @NonNull
+    public String getPropertyName(int index) {
+        return mProperties[index].getName();
+    }
+
+    /**
+     * 和{@link android.animation.AnimatorSet#setInterpolator(TimeInterpolator)}一致，覆盖所有属性的插值器
+     *
+     * @param value 为null时使用线性插值
+     */
+    @Override
+    public void setInterpolator(@Nullable TimeInterpolator value) {
+        final TimeInterpolator interpolator = value != null ? value : LINEAR_INTERPOLATOR;
+        for (int i = 0; i < mPropertyCount; i++) {
+            mInterpolators[i] = interpolator;
+        }
+    }
+
+    @Override
+    public void removeAllUpdateListeners() {
+        super.removeAllUpdateListeners();
+        addUpdateListener(this);
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        final float fraction = animation.getAnimatedFraction();
+        for (int i = 0; i < mPropertyCount; i++) {
+            final float f = mInterpolators[i].getInterpolation(fraction);
+            final float value = mFromValues[i] + (mToValues[i] - mFromValues[i]) * f;
+            setPropertyValue(mProperties[i], value);
+        }
+    }
+
+    private void setPropertyValue(@NonNull Property<View, Float> property, float value) {
+        setPropertyValue(property, mTarget, value);
+    }
+
+    static void setPropertyValue(@NonNull Property<View, Float> property, @NonNull View target, float value) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && property instanceof FloatProperty) {
+            ((FloatProperty<View>) property).setValue(target, value);
+        } else {
+            property.set(target, value);
+        }
+    }
+
+    @NonNull
+    @Override
+    public MultiPropertyAnimator clone() {
+        final MultiPropertyAnimator anim = (MultiPropertyAnimator) super.clone();
+        anim.removeUpdateListener(this);
+        anim.mProperties = Arrays.copyOf(mProperties, mProperties.length);
+        anim.mFromValues = Arrays.copyOf(mFromValues, mFromValues.length);
+        anim.mToValues = Arrays.copyOf(mToValues, mToValues.length);
+        anim.mInterpolators = Arrays.copyOf(mInterpolators, mInterpolators.length);
+        anim.addUpdateListener(anim);
+        return anim;
+    }
+}
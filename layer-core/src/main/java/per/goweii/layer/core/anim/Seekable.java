@@ -0,0 +1,15 @@
+package per.goweii.layer.core.anim;
+
+import android.animation.Animator;
+
+/**
+ * 开始时才初始化状态的动画，如记录子控件的起始值或锚点位置
+ * API 26及以上的AnimatorSet定位时直接计算子动画的值，不会调用子动画的setCurrentPlayTime，
+ * 由{@link AnimatorHelper#seekTo(Animator, float)}在定位前对动画及其所有子动画调用{@link #prepareForSeek()}
+ */
+interface Seekable {
+    /**
+     * 未开始且未初始化时初始化，可重复调用
+     */
+    void prepareForSeek();
+}
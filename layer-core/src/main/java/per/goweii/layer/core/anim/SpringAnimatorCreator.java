@@ -0,0 +1,318 @@
+package per.goweii.layer.core.anim;
+
+import android.animation.Animator;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import per.goweii.layer.core.Layer;
+import per.goweii.layer.core.LayerAnimationPolicy;
+import per.goweii.layer.core.R;
+
+/**
+ * 弹簧动画，进入和退出共用同一个弹簧状态
+ * 动画中途反向时从当前位置和速度继续，不会跳变，且每个View只创建一对动画实例
+ * 动画时长由弹簧参数决定，设置的时长和插值器无效
+ */
+public class SpringAnimatorCreator implements Layer.AnimatorCreator {
+    public static final float STIFFNESS_HIGH = 10000F;
+    public static final float STIFFNESS_MEDIUM = 1500F;
+    public static final float STIFFNESS_MEDIUM_LOW = 400F;
+    public static final float STIFFNESS_LOW = 200F;
+    public static final float STIFFNESS_VERY_LOW = 50F;
+
+    public static final float DAMPING_RATIO_HIGH_BOUNCY = 0.2F;
+    public static final float DAMPING_RATIO_MEDIUM_BOUNCY = 0.5F;
+    public static final float DAMPING_RATIO_LOW_BOUNCY = 0.75F;
+    public static final float DAMPING_RATIO_NO_BOUNCY = 1F;
+
+    private float mStiffness = STIFFNESS_MEDIUM_LOW;
+    private float mDampingRatio = DAMPING_RATIO_LOW_BOUNCY;
+    private float mFromAlpha = 0F;
+    private float mFromScale = AnimatorHelper.ZOOM_PERCENT;
+    private float mFromTranslationPercentX = 0F;
+    private float mFromTranslationPercentY = 0F;
+    private float mPivotPercentX = 0.5F;
+    private float mPivotPercentY = 0.5F;
+
+    public SpringAnimatorCreator setStiffness(@FloatRange(from = 0, fromInclusive = false) float stiffness) {
+        mStiffness = stiffness;
+        return this;
+    }
+
+    public SpringAnimatorCreator setDampingRatio(@FloatRange(from = 0, fromInclusive = false) float dampingRatio) {
+        mDampingRatio = dampingRatio;
+        return this;
+    }
+
+    public SpringAnimatorCreator setFromAlpha(@FloatRange(from = 0, to = 1) float fromAlpha) {
+        mFromAlpha = fromAlpha;
+        return this;
+    }
+
+    public SpringAnimatorCreator setFromScale(float fromScale) {
+        mFromScale = fromScale;
+        return this;
+    }
+
+    /**
+     * @param percent 相对自身宽度，如1为从右侧完全移入
+     */
+    public SpringAnimatorCreator setFromTranslationPercentX(float percent) {
+        mFromTranslationPercentX = percent;
+        return this;
+    }
+
+    /**
+     * @param percent 相对自身高度，如1为从下方完全移入
+     */
+    public SpringAnimatorCreator setFromTranslationPercentY(float percent) {
+        mFromTranslationPercentY = percent;
+        return this;
+    }
+
+    public SpringAnimatorCreator setPivotPercentX(float pivotPercentX) {
+        mPivotPercentX = pivotPercentX;
+        return this;
+    }
+
+    public SpringAnimatorCreator setPivotPercentY(float pivotPercentY) {
+        mPivotPercentY = pivotPercentY;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public Animator createInAnimator(@NonNull View target) {
+        SpringAnimator animator = obtainHolder(target).mInAnimator;
+        animator.prepare();
+        return animator;
+    }
+
+    @Nullable
+    @Override
+    public Animator createOutAnimator(@NonNull View target) {
+        SpringAnimator animator = obtainHolder(target).mOutAnimator;
+        animator.prepare();
+        return animator;
+    }
+
+    /**
+     * 将弹簧进度应用到View
+     *
+     * @param progress 0为隐藏，1为显示，回弹时会超出该范围
+     */
+    protected void onApply(@NonNull View target, float progress) {
+        target.setPivotX(target.getWidth() * mPivotPercentX);
+        target.setPivotY(target.getHeight() * mPivotPercentY);
+        if (mFromAlpha != 1F) {
+            float alphaProgress = Math.max(0F, Math.min(1F, progress));
+            target.setAlpha(mFromAlpha + (1F - mFromAlpha) * alphaProgress);
+        }
+        if (mFromScale != 1F) {
+            float scale = Math.max(0F, mFromScale + (1F - mFromScale) * progress);
+            target.setScaleX(scale);
+            target.setScaleY(scale);
+        }
+        if (mFromTranslationPercentX != 0F) {
+            target.setTranslationX((1F - progress) * mFromTranslationPercentX * target.getWidth());
+        }
+        if (mFromTranslationPercentY != 0F) {
+            target.setTranslationY((1F - progress) * mFromTranslationPercentY * target.getHeight());
+        }
+    }
+
+    @NonNull
+    private SpringHolder obtainHolder(@NonNull View target) {
+        Object tag = target.getTag(R.id.layer_spring_tag);
+        if (tag instanceof SpringHolder) {
+            SpringHolder holder = (SpringHolder) tag;
+            if (holder.mCreator == this) {
+                return holder;
+            }
+        }
+        SpringHolder holder = new SpringHolder(this, target);
+        target.setTag(R.id.layer_spring_tag, holder);
+        return holder;
+    }
+
+    /**
+     * 保存在View的tag中，生命周期和View一致
+     */
+    private static final class SpringHolder {
+        private final SpringAnimatorCreator mCreator;
+        private final SpringAnimator mInAnimator;
+        private final SpringAnimator mOutAnimator;
+
+        private float mValue = 0F;
+        private float mVelocity = 0F;
+        private long mUpdateTime = 0L;
+
+        private SpringHolder(@NonNull SpringAnimatorCreator creator, @NonNull View target) {
+            mCreator = creator;
+            mInAnimator = new SpringAnimator(this, target, 0F, 1F);
+            mOutAnimator = new SpringAnimator(this, target, 1F, 0F);
+        }
+    }
+
+    static final class SpringAnimator extends ValueAnimator implements ValueAnimator.AnimatorUpdateListener {
+        private static final TimeInterpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
+        /**
+         * 超过该时间未更新的弹簧视为已静止，从静止值开始
+         * 反向时Layer会在同一调用中取消上一个动画并开始下一个
+         */
+        private static final long RETARGET_TIMEOUT_MS = 100L;
+        private static final double VALUE_THRESHOLD = 0.001;
+        private static final double VELOCITY_THRESHOLD = 0.01;
+        private static final double SETTLE_STEP = 1.0 / 240.0;
+        private static final double MAX_SETTLE_TIME = 5.0;
+
+        private final SpringHolder mHolder;
+        private final View mTarget;
+        private final float mRestValue;
+        private final float mEndValue;
+
+        private double mOmega;
+        private double mZeta;
+        private double mStartDisplacement;
+        private double mStartVelocity;
+        private double mSettleTime;
+
+        private SpringAnimator(@NonNull SpringHolder holder, @NonNull View target, float restValue, float endValue) {
+            mHolder = holder;
+            mTarget = target;
+            mRestValue = restValue;
+            mEndValue = endValue;
+            setFloatValues(0F, 1F);
+            super.setInterpolator(LINEAR_INTERPOLATOR);
+            addUpdateListener(this);
+        }
+
+        @NonNull
+        View getTarget() {
+            return mTarget;
+        }
+
+        /**
+         * 以弹簧当前状态为初始条件计算时长，需在开始前调用
+         */
+        private void prepare() {
+            if (isStarted()) {
+                return;
+            }
+            final SpringHolder holder = mHolder;
+            if (SystemClock.uptimeMillis() - holder.mUpdateTime > RETARGET_TIMEOUT_MS) {
+                holder.mValue = mRestValue;
+                holder.mVelocity = 0F;
+            }
+            mOmega = Math.sqrt(holder.mCreator.mStiffness);
+            mZeta = holder.mCreator.mDampingRatio;
+            mStartDisplacement = holder.mValue - mEndValue;
+            mStartVelocity = holder.mVelocity;
+            mSettleTime = computeSettleTime();
+            // 时长在开始时才确定，setDuration无效，需在这里应用动画策略的时长缩放
+            super.setDuration(LayerAnimationPolicy.scaledDuration((long) (mSettleTime * 1000)));
+        }
+
+        @Override
+        public void start() {
+            prepare();
+            super.start();
+        }
+
+        @Override
+        public ValueAnimator setDuration(long duration) {
+            return this;
+        }
+
+        @Override
+        public void setInterpolator(TimeInterpolator value) {
+        }
+
+        @Override
+        public void removeAllUpdateListeners() {
+            super.removeAllUpdateListeners();
+            addUpdateListener(this);
+        }
+
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            final SpringHolder holder = mHolder;
+            final float fraction = animation.getAnimatedFraction();
+            if (fraction >= 1F) {
+                holder.mValue = mEndValue;
+                holder.mVelocity = 0F;
+            } else {
+                final double t = fraction * mSettleTime;
+                holder.mValue = (float) (mEndValue + displacement(t));
+                holder.mVelocity = (float) velocity(t);
+            }
+            holder.mUpdateTime = SystemClock.uptimeMillis();
+            holder.mCreator.onApply(mTarget, holder.mValue);
+        }
+
+        private double computeSettleTime() {
+            double t = 0;
+            while (t < MAX_SETTLE_TIME) {
+                if (Math.abs(displacement(t)) < VALUE_THRESHOLD
+                        && Math.abs(velocity(t)) < VELOCITY_THRESHOLD) {
+                    break;
+                }
+                t += SETTLE_STEP;
+            }
+            return t;
+        }
+
+        private double displacement(double t) {
+            final double x0 = mStartDisplacement;
+            final double v0 = mStartVelocity;
+            final double w = mOmega;
+            final double z = mZeta;
+            if (z < 1) {
+                final double wd = w * Math.sqrt(1 - z * z);
+                final double b = (v0 + z * w * x0) / wd;
+                return Math.exp(-z * w * t) * (x0 * Math.cos(wd * t) + b * Math.sin(wd * t));
+            } else if (z == 1) {
+                final double b = v0 + w * x0;
+                return (x0 + b * t) * Math.exp(-w * t);
+            } else {
+                final double s = w * Math.sqrt(z * z - 1);
+                final double r1 = -z * w + s;
+                final double r2 = -z * w - s;
+                final double c2 = (v0 - r1 * x0) / (r2 - r1);
+                final double c1 = x0 - c2;
+                return c1 * Math.exp(r1 * t) + c2 * Math.exp(r2 * t);
+            }
+        }
+
+        private double velocity(double t) {
+            final double x0 = mStartDisplacement;
+            final double v0 = mStartVelocity;
+            final double w = mOmega;
+            final double z = mZeta;
+            if (z < 1) {
+                final double wd = w * Math.sqrt(1 - z * z);
+                final double b = (v0 + z * w * x0) / wd;
+                final double cos = Math.cos(wd * t);
+                final double sin = Math.sin(wd * t);
+                return Math.exp(-z * w * t) * (-z * w * (x0 * cos + b * sin) + wd * (b * cos - x0 * sin));
+            } else if (z == 1) {
+                final double b = v0 + w * x0;
+                return (b - w * (x0 + b * t)) * Math.exp(-w * t);
+            } else {
+                final double s = w * Math.sqrt(z * z - 1);
+                final double r1 = -z * w + s;
+                final double r2 = -z * w - s;
+                final double c2 = (v0 - r1 * x0) / (r2 - r1);
+                final double c1 = x0 - c2;
+                return c1 * r1 * Math.exp(r1 * t) + c2 * r2 * Math.exp(r2 * t);
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package per.goweii.layer.core.anim;
+
+import android.animation.Animator;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.util.Property;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * ViewGroup子控件依次执行的动画，如菜单项逐个淡入
+ * 所有子控件由一个{@link ValueAnimator}驱动，开始时计算每个子控件的起止进度，每帧不分配对象
+ * 子控件时长和间隔按毫秒设置，总时长不足时压缩间隔
+ */
+public class StaggerAnimator extends ValueAnimator
+        implements ValueAnimator.AnimatorUpdateListener, Animator.AnimatorListener, Seekable {
+    private static final TimeInterpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
+    private static final TimeInterpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+    private final ViewGroup mTarget;
+
+    private Property<View, Float>[] mProperties;
+    private float[] mFromValues;
+    private float[] mToValues;
+    private int mPropertyCount = 0;
+
+    private TimeInterpolator mChildInterpolator = DEFAULT_INTERPOLATOR;
+    private float mStartFraction = 0F;
+    private long mChildDuration = 150L;
+    private long mChildDelay = 30L;
+    private boolean mReverseOrder = false;
+
+    private View[] mChildren = new View[0];
+    private float[] mChildStartFractions = new float[0];
+    private float[] mChildProgresses = new float[0];
+    private float[] mChildFromValues = new float[0];
+    private int mChildCount = 0;
+    private float mChildFraction = 1F;
+    private boolean mPrepared = false;
+
+    @SuppressWarnings("unchecked")
+    public StaggerAnimator(@NonNull ViewGroup target) {
+        mTarget = target;
+        mProperties = new Property[1];
+        mFromValues = new float[1];
+        mToValues = new float[1];
+        setFloatValues(0F, 1F);
+        super.setInterpolator(LINEAR_INTERPOLATOR);
+        addUpdateListener(this);
+        addListener(this);
+    }
+
+    @NonNull
+    public ViewGroup getTarget() {
+        return mTarget;
+    }
+
+    /**
+     * 从子控件开始时的当前值变化到to
+     */
+    @NonNull
+    public StaggerAnimator addProperty(@NonNull Property<View, Float> property, float to) {
+        return addProperty(property, Float.NaN, to);
+    }
+
+    @NonNull
+    public StaggerAnimator addProperty(@NonNull Property<View, Float> property, float from, float to) {
+        if (mPropertyCount == mProperties.length) {
+            final int capacity = mPropertyCount * 2;
+            mProperties = Arrays.copyOf(mProperties, capacity);
+            mFromValues = Arrays.copyOf(mFromValues, capacity);
+            mToValues = Arrays.copyOf(mToValues, capacity);
+        }
+        mProperties[mPropertyCount] = property;
+        mFromValues[mPropertyCount] = from;
+        mToValues[mPropertyCount] = to;
+        mPropertyCount++;
+        return this;
+    }
+
+    /**
+     * 第一个子控件开始时整体动画的进度
+     */
+    @NonNull
+    public StaggerAnimator setStartFraction(@FloatRange(from = 0, to = 1) float startFraction) {
+        mStartFraction = startFraction;
+        return this;
+    }
+
+    @NonNull
+    public StaggerAnimator setChildDuration(long childDuration) {
+        mChildDuration = childDuration;
+        return this;
+    }
+
+    public long getChildDuration() {
+        return mChildDuration;
+    }
+
+    /**
+     * 相邻子控件开始时间的间隔
+     */
+    @NonNull
+    public StaggerAnimator setChildDelay(long childDelay) {
+        mChildDelay = childDelay;
+        return this;
+    }
+
+    public long getChildDelay() {
+        return mChildDelay;
+    }
+
+    /**
+     * 从最后一个子控件开始
+     */
+    @NonNull
+    public StaggerAnimator setReverseOrder(boolean reverseOrder) {
+        mReverseOrder = reverseOrder;
+        return this;
+    }
+
+    @NonNull
+    public StaggerAnimator setChildInterpolator(@Nullable TimeInterpolator interpolator) {
+        mChildInterpolator = interpolator != null ? interpolator : DEFAULT_INTERPOLATOR;
+        return this;
+    }
+
+    /**
+     * 作用于每个子控件，整体进度始终为线性
+     *
+     * @param value 为null时使用线性插值
+     */
+    @Override
+    public void setInterpolator(@Nullable TimeInterpolator value) {
+        mChildInterpolator = value != null ? value : LINEAR_INTERPOLATOR;
+    }
+
+    @Override
+    public void start() {
+        prepare();
+        super.start();
+    }
+
+    /**
+     * 未开始时定位，首次定位前记录子控件的起始值，动画结束后重新记录
+     */
+    @Override
+    public void setCurrentPlayTime(long playTime) {
+        prepareForSeek();
+        super.setCurrentPlayTime(playTime);
+    }
+
+    @Override
+    public void prepareForSeek() {
+        if (!mPrepared && !isStarted()) {
+            prepare();
+        }
+    }
+
+    @Override
+    public void removeAllUpdateListeners() {
+        super.removeAllUpdateListeners();
+        addUpdateListener(this);
+    }
+
+    @Override
+    public void removeAllListeners() {
+        super.removeAllListeners();
+        addListener(this);
+    }
+
+    private void prepare() {
+        final int count = mTarget.getChildCount();
+        if (mChildren.length < count) {
+            mChildren = new View[count];
+            mChildStartFractions = new float[count];
+            mChildProgresses = new float[count];
+        }
+        if (mChildFromValues.length < count * mPropertyCount) {
+            mChildFromValues = new float[count * mPropertyCount];
+        }
+        Arrays.fill(mChildren, count, mChildren.length, null);
+        mChildCount = count;
+        mPrepared = true;
+        final long duration = getDuration();
+        final float start = Math.max(0F, Math.min(1F, mStartFraction));
+        float childFraction;
+        float delayFraction;
+        if (duration <= 0) {
+            childFraction = 0F;
+            delayFraction = 0F;
+        } else {
+            childFraction = Math.min((float) mChildDuration / duration, 1F - start);
+            delayFraction = (float) mChildDelay / duration;
+            if (count > 1 && start + delayFraction * (count - 1) + childFraction > 1F) {
+                delayFraction = Math.max(0F, (1F - start - childFraction) / (count - 1));
+            }
+        }
+        mChildFraction = childFraction;
+        for (int i = 0; i < count; i++) {
+            final View child = mTarget.getChildAt(i);
+            final int order = mReverseOrder ? count - 1 - i : i;
+            mChildren[i] = child;
+            mChildStartFractions[i] = start + delayFraction * order;
+            mChildProgresses[i] = -1F;
+            for (int j = 0; j < mPropertyCount; j++) {
+                final float from = mFromValues[j];
+                mChildFromValues[i * mPropertyCount + j] = Float.isNaN(from) ? mProperties[j].get(child) : from;
+            }
+        }
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        final float fraction = animation.getAnimatedFraction();
+        for (int i = 0; i < mChildCount; i++) {
+            final float childStart = mChildStartFractions[i];
+            float progress;
+            if (fraction <= childStart) {
+                progress = 0F;
+            } else if (mChildFraction <= 0F || fraction >= childStart + mChildFraction) {
+                progress = 1F;
+            } else {
+                progress = (fraction - childStart) / mChildFraction;
+            }
+            if (progress == mChildProgresses[i]) {
+                continue;
+            }
+            mChildProgresses[i] = progress;
+            final float f = mChildInterpolator.getInterpolation(progress);
+            final View child = mChildren[i];
+            for (int j = 0; j < mPropertyCount; j++) {
+                final float from = mChildFromValues[i * mPropertyCount + j];
+                final float value = from + (mToValues[j] - from) * f;
+                MultiPropertyAnimator.setPropertyValue(mProperties[j], child, value);
+            }
+        }
+    }
+
+    @Override
+    public void onAnimationStart(Animator animation) {
+    }
+
+    /**
+     * 取消后也会回调，复用时需重新读取子控件，不再持有已移除的子控件
+     */
+    @Override
+    public void onAnimationEnd(Animator animation) {
+        Arrays.fill(mChildren, 0, mChildCount, null);
+        mChildCount = 0;
+        mPrepared = false;
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {
+    }
+
+    @Override
+    public void onAnimationRepeat(Animator animation) {
+    }
+
+    @NonNull
+    @Override
+    public StaggerAnimator clone() {
+        final StaggerAnimator anim = (StaggerAnimator) super.clone();
+        anim.removeUpdateListener(this);
+        anim.removeListener(this);
+        anim.mProperties = Arrays.copyOf(mProperties, mProperties.length);
+        anim.mFromValues = Arrays.copyOf(mFromValues, mFromValues.length);
+        anim.mToValues = Arrays.copyOf(mToValues, mToValues.length);
+        anim.mChildren = new View[0];
+        anim.mChildStartFractions = new float[0];
+        anim.mChildProgresses = new float[0];
+        anim.mChildFromValues = new float[0];
+        anim.mChildCount = 0;
+        anim.mPrepared = false;
+        anim.addUpdateListener(anim);
+        anim.addListener(anim);
+        return anim;
+    }
+}
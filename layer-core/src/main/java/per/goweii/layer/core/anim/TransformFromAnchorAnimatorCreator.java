@@ -0,0 +1,324 @@
+package per.goweii.layer.core.anim;
+
+import android.animation.Animator;
+import android.animation.ValueAnimator;
+import android.graphics.Outline;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewOutlineProvider;
+import android.view.ViewParent;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+import androidx.annotation.RequiresApi;
+
+import per.goweii.layer.core.Layer;
+
+/**
+ * 从锚点控件的边界变换为浮层内容，适用于PopupLayer和DialogLayer的内容动画
+ * 可见区域从锚点矩形过渡到内容的完整边界，同时过渡缩放和圆角
+ * API 21及以上通过Outline裁剪，缩放和裁剪都只修改RenderNode属性，不会重新布局和绘制
+ * API 18~20退化为setClipBounds，更低版本只有缩放和透明度
+ */
+public class TransformFromAnchorAnimatorCreator implements Layer.AnimatorCreator {
+    /**
+     * 内容在前30%的进度中淡入，避免锚点尺寸下内容重叠在锚点上
+     */
+    private static final float FADE_FRACTION = 0.3F;
+
+    private View mAnchor = null;
+    private final Rect mAnchorRect = new Rect();
+    private float mFromCornerRadius = 0F;
+    private float mToCornerRadius = 0F;
+    private boolean mScaleEnabled = true;
+    private boolean mFadeEnabled = true;
+
+    public TransformFromAnchorAnimatorCreator() {
+    }
+
+    public TransformFromAnchorAnimatorCreator(@NonNull View anchor) {
+        mAnchor = anchor;
+    }
+
+    public TransformFromAnchorAnimatorCreator setAnchor(@Nullable View anchor) {
+        mAnchor = anchor;
+        return this;
+    }
+
+    /**
+     * 未设置锚点控件时使用
+     *
+     * @param rect 相对窗口的坐标
+     */
+    public TransformFromAnchorAnimatorCreator setAnchorRect(@NonNull Rect rect) {
+        mAnchorRect.set(rect);
+        return this;
+    }
+
+    /**
+     * 锚点的圆角，如圆角按钮
+     */
+    public TransformFromAnchorAnimatorCreator setFromCornerRadius(@Px float radius) {
+        mFromCornerRadius = radius;
+        return this;
+    }
+
+    /**
+     * 内容的圆角，通常和内容背景的圆角一致
+     */
+    public TransformFromAnchorAnimatorCreator setToCornerRadius(@Px float radius) {
+        mToCornerRadius = radius;
+        return this;
+    }
+
+    /**
+     * 是否将内容缩小到锚点尺寸，关闭时只裁剪不缩放
+     */
+    public TransformFromAnchorAnimatorCreator setScaleEnabled(boolean enabled) {
+        mScaleEnabled = enabled;
+        return this;
+    }
+
+    public TransformFromAnchorAnimatorCreator setFadeEnabled(boolean enabled) {
+        mFadeEnabled = enabled;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public Animator createInAnimator(@NonNull View target) {
+        TransformAnimator animator = new TransformAnimator(this, target, 0F, 1F);
+        animator.setInterpolator(new DecelerateInterpolator(1.5F));
+        return animator;
+    }
+
+    @Nullable
+    @Override
+    public Animator createOutAnimator(@NonNull View target) {
+        TransformAnimator animator = new TransformAnimator(this, target, 1F, 0F);
+        animator.setInterpolator(new AccelerateInterpolator(1.5F));
+        return animator;
+    }
+
+    private void getAnchorRectInWindow(@NonNull Rect rect) {
+        final View anchor = mAnchor;
+        if (anchor == null) {
+            rect.set(mAnchorRect);
+            return;
+        }
+        final int[] location = new int[2];
+        anchor.getLocationInWindow(location);
+        rect.set(location[0], location[1],
+                location[0] + anchor.getWidth(), location[1] + anchor.getHeight());
+    }
+
+    private static final class TransformAnimator extends ValueAnimator
+            implements ValueAnimator.AnimatorUpdateListener, Animator.AnimatorListener, Seekable {
+        private final TransformFromAnchorAnimatorCreator mCreator;
+        private final View mTarget;
+        private final float mFromProgress;
+
+        /**
+         * 锚点在target未变换坐标系中的位置
+         */
+        private final RectF mAnchorBounds = new RectF();
+        private final RectF mClipBounds = new RectF();
+        private final Rect mClipRect = new Rect();
+        private float mFromScale = 1F;
+        private float mCornerRadius = 0F;
+
+        private boolean mClipToOutlineBackup = false;
+        private Object mOutlineProviderBackup = null;
+        private Object mOutlineProvider = null;
+        private boolean mPrepared = false;
+
+        private TransformAnimator(@NonNull TransformFromAnchorAnimatorCreator creator,
+                                  @NonNull View target,
+                                  float from,
+                                  float to) {
+            mCreator = creator;
+            mTarget = target;
+            mFromProgress = from;
+            setFloatValues(from, to);
+            addUpdateListener(this);
+            addListener(this);
+        }
+
+        @Override
+        public void start() {
+            prepare();
+            super.start();
+        }
+
+        @Override
+        public void setCurrentPlayTime(long playTime) {
+            prepareForSeek();
+            super.setCurrentPlayTime(playTime);
+        }
+
+        @Override
+        public void prepareForSeek() {
+            if (!mPrepared && !isStarted()) {
+                prepare();
+            }
+        }
+
+        @Override
+        public void removeAllUpdateListeners() {
+            super.removeAllUpdateListeners();
+            addUpdateListener(this);
+        }
+
+        @Override
+        public void removeAllListeners() {
+            super.removeAllListeners();
+            addListener(this);
+        }
+
+        private void prepare() {
+            final View target = mTarget;
+            final int w = target.getWidth();
+            final int h = target.getHeight();
+            final Rect anchor = new Rect();
+            mCreator.getAnchorRectInWindow(anchor);
+            final int[] origin = new int[2];
+            getUntransformedLocationInWindow(target, origin);
+            mAnchorBounds.set(anchor);
+            mAnchorBounds.offset(-origin[0], -origin[1]);
+            if (mCreator.mScaleEnabled && w > 0 && h > 0 && !anchor.isEmpty()) {
+                final float scale = Math.max(mAnchorBounds.width() / w, mAnchorBounds.height() / h);
+                mFromScale = Math.min(1F, scale);
+            } else {
+                mFromScale = 1F;
+            }
+            target.setPivotX(mAnchorBounds.centerX());
+            target.setPivotY(mAnchorBounds.centerY());
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && !mPrepared) {
+                mClipToOutlineBackup = target.getClipToOutline();
+                mOutlineProviderBackup = target.getOutlineProvider();
+                if (mOutlineProvider == null) {
+                    mOutlineProvider = new TransformOutlineProvider(this);
+                }
+                target.setOutlineProvider((ViewOutlineProvider) mOutlineProvider);
+                target.setClipToOutline(true);
+            }
+            mPrepared = true;
+            // 有启动延迟时第一帧前也需要裁剪到起始区域
+            apply(mFromProgress);
+        }
+
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            apply((float) animation.getAnimatedValue());
+        }
+
+        private void apply(float progress) {
+            final View target = mTarget;
+            final float w = target.getWidth();
+            final float h = target.getHeight();
+            final float scale = mFromScale + (1F - mFromScale) * progress;
+            final float pivotX = target.getPivotX();
+            final float pivotY = target.getPivotY();
+            final RectF anchor = mAnchorBounds;
+            // 缩放后的可见区域从锚点过渡到完整边界，反算为缩放前的裁剪区域
+            final float left = anchor.left + (0 - anchor.left) * progress;
+            final float top = anchor.top + (0 - anchor.top) * progress;
+            final float right = anchor.right + (w - anchor.right) * progress;
+            final float bottom = anchor.bottom + (h - anchor.bottom) * progress;
+            mClipBounds.set(
+                    Math.max(0, pivotX + (left - pivotX) / scale),
+                    Math.max(0, pivotY + (top - pivotY) / scale),
+                    Math.min(w, pivotX + (right - pivotX) / scale),
+                    Math.min(h, pivotY + (bottom - pivotY) / scale)
+            );
+            // 锚点不在内容范围内时裁剪区域可能为空
+            if (mClipBounds.right < mClipBounds.left) mClipBounds.right = mClipBounds.left;
+            if (mClipBounds.bottom < mClipBounds.top) mClipBounds.bottom = mClipBounds.top;
+            final float fromRadius = mCreator.mFromCornerRadius;
+            final float toRadius = mCreator.mToCornerRadius;
+            mCornerRadius = (fromRadius + (toRadius - fromRadius) * progress) / scale;
+            target.setScaleX(scale);
+            target.setScaleY(scale);
+            if (mCreator.mFadeEnabled) {
+                target.setAlpha(Math.min(1F, Math.max(0F, progress / FADE_FRACTION)));
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                target.invalidateOutline();
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                mClipBounds.roundOut(mClipRect);
+                target.setClipBounds(mClipRect);
+            }
+        }
+
+        @Override
+        public void onAnimationStart(Animator animation) {
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            restore();
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+        }
+
+        @Override
+        public void onAnimationRepeat(Animator animation) {
+        }
+
+        private void restore() {
+            if (!mPrepared) {
+                return;
+            }
+            mPrepared = false;
+            final View target = mTarget;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                target.setClipToOutline(mClipToOutlineBackup);
+                target.setOutlineProvider((ViewOutlineProvider) mOutlineProviderBackup);
+                mOutlineProviderBackup = null;
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                target.setClipBounds(null);
+            }
+        }
+
+        /**
+         * 不包含target自身缩放的窗口坐标，父控件的变换（如PopupLayer设置的位置）会包含在内
+         */
+        private static void getUntransformedLocationInWindow(@NonNull View target, @NonNull int[] location) {
+            final ViewParent parent = target.getParent();
+            if (!(parent instanceof View)) {
+                target.getLocationInWindow(location);
+                return;
+            }
+            final View parentView = (View) parent;
+            parentView.getLocationInWindow(location);
+            location[0] += target.getLeft() + (int) target.getTranslationX() - parentView.getScrollX();
+            location[1] += target.getTop() + (int) target.getTranslationY() - parentView.getScrollY();
+        }
+    }
+
+    @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
+    private static final class TransformOutlineProvider extends ViewOutlineProvider {
+        private final TransformAnimator mAnimator;
+
+        private TransformOutlineProvider(@NonNull TransformAnimator animator) {
+            mAnimator = animator;
+        }
+
+        @Override
+        public void getOutline(View view, Outline outline) {
+            final RectF bounds = mAnimator.mClipBounds;
+            outline.setRoundRect(
+                    (int) bounds.left, (int) bounds.top,
+                    (int) Math.ceil(bounds.right), (int) Math.ceil(bounds.bottom),
+                    mAnimator.mCornerRadius
+            );
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package per.goweii.layer.core.utils;
+
+import android.app.Activity;
+import android.view.View;
+
+import androidx.activity.BackEventCompat;
+import androidx.activity.OnBackPressedCallback;
+import androidx.activity.OnBackPressedDispatcher;
+import androidx.activity.OnBackPressedDispatcherOwner;
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+
+/**
+ * 通过Activity的{@link OnBackPressedDispatcher}接收返回事件，无需获取焦点和绑定按键监听
+ * 后添加的回调先收到事件，和浮层的显示顺序一致
+ * 回调绑定到Activity的生命周期，和FragmentManager、NavController的回调一样在每次ON_START时重新添加，
+ * 切到后台再回来后浮层仍在它们之上
+ * androidx.activity为1.8及以上时还会收到预测性返回手势的进度
+ * 宿主不是ComponentActivity或缺少androidx.activity时不可用
+ */
+public final class BackPressedCompat {
+    private static final boolean sDispatcherAvailable = isClassAvailable("androidx.activity.OnBackPressedDispatcherOwner");
+    private static final boolean sBackEventAvailable = sDispatcherAvailable && isClassAvailable("androidx.activity.BackEventCompat");
+
+    private BackPressedCompat() {
+    }
+
+    private static boolean isClassAvailable(@NonNull String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return 用于{@link #removeCallback(Object)}，不可用时返回null
+     */
+    @Nullable
+    public static Object addCallback(@NonNull View view, @NonNull OnBackListener listener) {
+        if (!sDispatcherAvailable) {
+            return null;
+        }
+        Activity activity = Utils.getActivity(view.getContext());
+        if (!(activity instanceof OnBackPressedDispatcherOwner)) {
+            return null;
+        }
+        final OnBackPressedDispatcherOwner owner = (OnBackPressedDispatcherOwner) activity;
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return null;
+        }
+        OnBackPressedDispatcher dispatcher = owner.getOnBackPressedDispatcher();
+        // 低版本的OnBackPressedCallback没有手势回调，不加载引用BackEventCompat的子类
+        BackCallback callback = sBackEventAvailable
+                ? new ProgressBackCallback(dispatcher, listener)
+                : new BackCallback(dispatcher, listener);
+        // 生命周期观察者按添加顺序回调，浮层的回调晚于Fragment等添加，ON_START时也会后于它们重新添加
+        dispatcher.addCallback(owner, callback);
+        return callback;
+    }
+
+    public static void removeCallback(@Nullable Object callback) {
+        if (callback == null || !sDispatcherAvailable) {
+            return;
+        }
+        if (callback instanceof BackCallback) {
+            ((BackCallback) callback).remove();
+        }
+    }
+
+    private static class BackCallback extends OnBackPressedCallback {
+        private final OnBackPressedDispatcher mDispatcher;
+        final OnBackListener mListener;
+
+        private BackCallback(@NonNull OnBackPressedDispatcher dispatcher, @NonNull OnBackListener listener) {
+            super(true);
+            mDispatcher = dispatcher;
+            mListener = listener;
+        }
+
+        @Override
+        public void handleOnBackPressed() {
+            if (mListener.onBack()) {
+                return;
+            }
+            // 未处理时交给下一个回调，最终由Activity处理
+            setEnabled(false);
+            try {
+                mDispatcher.onBackPressed();
+            } finally {
+                setEnabled(true);
+            }
+        }
+    }
+
+    private static final class ProgressBackCallback extends BackCallback {
+        private ProgressBackCallback(@NonNull OnBackPressedDispatcher dispatcher, @NonNull OnBackListener listener) {
+            super(dispatcher, listener);
+        }
+
+        @Override
+        public void handleOnBackStarted(@NonNull BackEventCompat backEvent) {
+            mListener.onBackStarted();
+        }
+
+        @Override
+        public void handleOnBackProgressed(@NonNull BackEventCompat backEvent) {
+            mListener.onBackProgressed(backEvent.getProgress());
+        }
+
+        @Override
+        public void handleOnBackCancelled() {
+            mListener.onBackCancelled();
+        }
+    }
+
+    public interface OnBackListener {
+        /**
+         * 预测性返回手势开始，之后以{@link #onBack()}或{@link #onBackCancelled()}结束
+         */
+        void onBackStarted();
+
+        void onBackProgressed(@FloatRange(from = 0, to = 1) float progress);
+
+        void onBackCancelled();
+
+        /**
+         * 返回键或返回手势完成
+         *
+         * @return 是否已处理
+         */
+        boolean onBack();
+    }
+}
@@ -21,6 +21,8 @@ import androidx.annotation.Px;
 import java.util.HashMap;
 import java.util.Map;
 
+import per.goweii.layer.core.LayerAnimationPolicy;
+
 /**
  * 监听软键盘的打开和隐藏
  * 打开时滚动布局，可设置仅在某几个EditText获取焦点时开启
@@ -275,9 +277,9 @@ public final class InputMethodCompat implements ViewTreeObserver.OnGlobalLayoutL
         if (mMoveAnim != null) mMoveAnim.cancel();
         float from = mMoveView.getTranslationY();
         if (from == to) return;
-        mMoveAnim = ObjectAnimator.ofFloat(view, "translationY", from, to);
+        mMoveAnim = ObjectAnimator.ofFloat(view, View.TRANSLATION_Y, from, to);
         mMoveAnim.setInterpolator(new DecelerateInterpolator());
-        mMoveAnim.setDuration(mDuration);
+        mMoveAnim.setDuration(LayerAnimationPolicy.scaledDuration(mDuration));
         mMoveAnim.start();
     }
 
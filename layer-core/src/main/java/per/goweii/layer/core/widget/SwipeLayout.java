@@ -25,6 +25,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.List;
 
+import per.goweii.layer.core.LayerAnimationPolicy;
 import per.goweii.layer.core.utils.DragCompat;
 import per.goweii.layer.core.utils.ScrollCompat;
 import per.goweii.layer.core.utils.Utils;
@@ -668,7 +669,7 @@ public class SwipeLayout extends FrameLayout implements NestedScrollingParent3 {
             int dx = endx - fromx;
             int dy = endy - fromy;
             int d = Math.max(Math.abs(dx), Math.abs(dy));
-            int duration = computeSettleDuration(d, (int) mVelocity);
+            int duration = (int) LayerAnimationPolicy.scaledDuration(computeSettleDuration(d, (int) mVelocity));
             mScroller.abortAnimation();
             mScroller.startScroll(-fromx, -fromy, -dx, -dy, duration);
             invalidate();
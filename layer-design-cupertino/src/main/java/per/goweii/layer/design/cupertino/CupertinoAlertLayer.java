@@ -23,6 +23,7 @@ import androidx.annotation.StringRes;
 import java.util.ArrayList;
 import java.util.List;
 
+import per.goweii.layer.core.LayerAnimationPolicy;
 import per.goweii.layer.dialog.DialogLayer;
 import per.goweii.layer.visualeffectview.BackdropBlurView;
 import per.goweii.layer.visualeffectview.BackdropIgnoreView;
@@ -46,6 +47,8 @@ public class CupertinoAlertLayer extends DialogLayer {
         setContentBlurSimple(10F);
         setContentBlurRadius(10F);
         setContentBlurCornerRadiusPx(getActivity().getResources().getDimensionPixelSize(R.dimen.layer_design_cupertino_corner_radius_big));
+        // 背景模糊需要在动画期间持续重绘
+        setHardwareLayerEnabled(false);
     }
 
     @NonNull
@@ -92,7 +95,8 @@ public class CupertinoAlertLayer extends DialogLayer {
             backdropIgnoreView.setBackgroundColor(getConfig().getBackgroundColor());
             return backdropIgnoreView;
         }
-        if (getConfig().mBackgroundBlurPercent > 0 || getConfig().mBackgroundBlurRadius > 0) {
+        if ((getConfig().mBackgroundBlurPercent > 0 || getConfig().mBackgroundBlurRadius > 0)
+                && !LayerAnimationPolicy.shouldReduceEffects(getActivity())) {
             final BackdropBlurView backdropBlurView = new BackdropBlurView(getActivity());
             backdropBlurView.setOverlayColor(getConfig().mBackgroundBlurColor);
             backdropBlurView.setSimpleSize(getConfig().mBackgroundBlurSimple);
@@ -113,8 +117,14 @@ public class CupertinoAlertLayer extends DialogLayer {
         final BackdropBlurView backdropBlurView = new BackdropBlurView(getActivity());
         backdropBlurView.setOverlayColor(getConfig().mContentBackgroundColor);
         backdropBlurView.setSimpleSize(getConfig().mContentBlurSimple);
-        backdropBlurView.setBlurRadius(getConfig().mContentBlurRadius);
-        backdropBlurView.setBlurPercent(getConfig().mContentBlurPercent);
+        if (LayerAnimationPolicy.shouldReduceEffects(getActivity())) {
+            // 低功耗时只保留背景色
+            backdropBlurView.setBlurRadius(0F);
+            backdropBlurView.setBlurPercent(0F);
+        } else {
+            backdropBlurView.setBlurRadius(getConfig().mContentBlurRadius);
+            backdropBlurView.setBlurPercent(getConfig().mContentBlurPercent);
+        }
         backdropBlurView.addView(content, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
 
         getViewHolder().setContentBackdropBlurView(backdropBlurView);
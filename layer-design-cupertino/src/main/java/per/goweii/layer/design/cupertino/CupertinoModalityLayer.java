@@ -154,8 +154,8 @@ public class CupertinoModalityLayer extends DialogLayer {
             child.setPivotY(decor.getHeight() / 2F);
             float fromScaleX = child.getScaleX();
             float fromScaleY = child.getScaleY();
-            ObjectAnimator scaleX = ObjectAnimator.ofFloat(child, "scaleX", fromScaleX, toScale);
-            ObjectAnimator scaleY = ObjectAnimator.ofFloat(child, "scaleY", fromScaleY, toScale);
+            ObjectAnimator scaleX = ObjectAnimator.ofFloat(child, View.SCALE_X, fromScaleX, toScale);
+            ObjectAnimator scaleY = ObjectAnimator.ofFloat(child, View.SCALE_Y, fromScaleY, toScale);
             scaleAnimList.add(scaleX);
             scaleAnimList.add(scaleY);
             scaleX.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
@@ -189,8 +189,8 @@ public class CupertinoModalityLayer extends DialogLayer {
             child.setPivotY(decor.getHeight() / 2F);
             float fromScaleX = child.getScaleX();
             float fromScaleY = child.getScaleY();
-            ObjectAnimator scaleX = ObjectAnimator.ofFloat(child, "scaleX", fromScaleX, toScale);
-            ObjectAnimator scaleY = ObjectAnimator.ofFloat(child, "scaleY", fromScaleY, toScale);
+            ObjectAnimator scaleX = ObjectAnimator.ofFloat(child, View.SCALE_X, fromScaleX, toScale);
+            ObjectAnimator scaleY = ObjectAnimator.ofFloat(child, View.SCALE_Y, fromScaleY, toScale);
             scaleAnimList.add(scaleX);
             scaleAnimList.add(scaleY);
             scaleX.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
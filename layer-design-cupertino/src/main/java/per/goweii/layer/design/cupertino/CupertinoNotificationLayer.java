@@ -26,6 +26,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
+import per.goweii.layer.core.LayerAnimationPolicy;
 import per.goweii.layer.notification.NotificationLayer;
 import per.goweii.layer.visualeffectview.BackdropBlurView;
 import per.goweii.layer.visualeffectview.BackdropIgnoreView;
@@ -48,6 +49,8 @@ public class CupertinoNotificationLayer extends NotificationLayer {
         setContentBackgroundColorRes(R.color.layer_design_cupertino_color_notification_blur_overlay);
         setContentCornerRadiusPx(getActivity().getResources().getDimensionPixelSize(R.dimen.layer_design_cupertino_corner_radius_big));
         setContentView(R.layout.layer_design_cupertino_notification);
+        // 背景模糊需要在动画期间持续重绘
+        setHardwareLayerEnabled(false);
     }
 
     @NonNull
@@ -94,8 +97,14 @@ public class CupertinoNotificationLayer extends NotificationLayer {
         final BackdropBlurView backdropBlurView = new BackdropBlurView(getActivity());
         backdropBlurView.setOverlayColor(getConfig().mContentBackgroundColor);
         backdropBlurView.setSimpleSize(getConfig().mContentBlurSimple);
-        backdropBlurView.setBlurRadius(getConfig().mContentBlurRadius);
-        backdropBlurView.setBlurPercent(getConfig().mContentBlurPercent);
+        if (LayerAnimationPolicy.shouldReduceEffects(getActivity())) {
+            // 低功耗时只保留背景色
+            backdropBlurView.setBlurRadius(0F);
+            backdropBlurView.setBlurPercent(0F);
+        } else {
+            backdropBlurView.setBlurRadius(getConfig().mContentBlurRadius);
+            backdropBlurView.setBlurPercent(getConfig().mContentBlurPercent);
+        }
         backdropBlurView.addView(content, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
 
         RoundedShadowLayout shadowLayout = new RoundedShadowLayout(getActivity());
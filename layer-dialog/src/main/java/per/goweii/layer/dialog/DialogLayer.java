@@ -203,6 +203,23 @@ public class DialogLayer extends DecorLayer {
         return null;
     }
 
+    @Override
+    protected void onDestroyChild() {
+        View content = getViewHolder().getContentOrNull();
+        if (content != null && recycleLayout(content)) {
+            getViewHolder().setContent(null);
+        }
+        super.onDestroyChild();
+    }
+
+    @Override
+    protected int getPreInflateLayoutId() {
+        if (getConfig().mContentView != null) {
+            return View.NO_ID;
+        }
+        return getConfig().mContentViewId;
+    }
+
     @NonNull
     protected View onCreateContent(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent) {
         if (getConfig().mContentView != null) {
@@ -210,7 +227,7 @@ public class DialogLayer extends DecorLayer {
             return getConfig().mContentView;
         }
         if (getConfig().mContentViewId != View.NO_ID) {
-            return inflater.inflate(getConfig().mContentViewId, parent, false);
+            return inflateLayout(inflater, getConfig().mContentViewId, parent);
         }
         throw new IllegalStateException("未设置contentView");
     }
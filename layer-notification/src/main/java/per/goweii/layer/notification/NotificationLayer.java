@@ -199,19 +199,31 @@ public class NotificationLayer extends DecorLayer {
 
     @Override
     protected void onDestroyChild() {
+        View content = getViewHolder().getContentOrNull();
+        if (content != null) {
+            recycleLayout(content);
+        }
         getViewHolder().getContentWrapper().removeAllViews();
         getViewHolder().setContentWrapper(null);
         getViewHolder().setContent(null);
         super.onDestroyChild();
     }
 
+    @Override
+    protected int getPreInflateLayoutId() {
+        if (getConfig().mContentView != null) {
+            return View.NO_ID;
+        }
+        return getConfig().mContentViewId;
+    }
+
     @NonNull
     protected View onCreateContent(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent) {
         View content;
         if (getConfig().mContentView != null) {
             content = getConfig().mContentView;
         } else if (getConfig().mContentViewId != View.NO_ID) {
-            content = inflater.inflate(getConfig().mContentViewId, parent, false);
+            content = inflateLayout(inflater, getConfig().mContentViewId, parent);
         } else {
             throw new IllegalStateException("未设置contentView");
         }
@@ -351,6 +363,11 @@ public class NotificationLayer extends DecorLayer {
             mContent = content;
         }
 
+        @Nullable
+        protected View getContentOrNull() {
+            return mContent;
+        }
+
         @NonNull
         public View getContent() {
             Utils.requireNonNull(mContent, "必须在show方法后调用");
@@ -19,10 +19,12 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import per.goweii.layer.core.DecorLayer;
+import per.goweii.layer.core.LayerAnimationPolicy;
 import per.goweii.layer.core.anim.AnimatorHelper;
 import per.goweii.layer.core.utils.Utils;
 
 public class OverlayLayer extends DecorLayer {
+    protected static final long PROFILE_ANIMATOR_DURATION = 300L;
 
     public OverlayLayer(@NonNull Context context) {
         this(Utils.requireActivity(context));
@@ -385,6 +387,7 @@ public class OverlayLayer extends DecorLayer {
                     .scaleY(getConfig().mNormalScale)
                     .translationX(0F)
                     .translationY(0F)
+                    .setDuration(LayerAnimationPolicy.scaledDuration(PROFILE_ANIMATOR_DURATION))
                     .start();
         }
     };
@@ -399,6 +402,7 @@ public class OverlayLayer extends DecorLayer {
                     .scaleY(getConfig().mLowProfileScale)
                     .translationX(xy[0])
                     .translationY(xy[1])
+                    .setDuration(LayerAnimationPolicy.scaledDuration(PROFILE_ANIMATOR_DURATION))
                     .start();
         }
     };
@@ -0,0 +1,81 @@
+package per.goweii.layer.popup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 锚点移动时每帧都会计算位置，这里测量单次计算的耗时
+ * 锚点在父布局中逐帧移动，覆盖翻转和不翻转两种情况
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PopupPlacementSolverBenchmark {
+    @Param({"false", "true"})
+    public boolean autoFlip;
+
+    private final PopupPlacementSolver.Input mInput = new PopupPlacementSolver.Input();
+    private final PopupPlacementSolver.Result mResult = new PopupPlacementSolver.Result();
+    private final PopupPlacementSolver.BackgroundInput mBackgroundInput = new PopupPlacementSolver.BackgroundInput();
+    private final PopupPlacementSolver.Result mBackgroundResult = new PopupPlacementSolver.Result();
+
+    private int mFrame = 0;
+
+    @Setup
+    public void setup() {
+        mInput.parentWidth = 1080;
+        mInput.parentHeight = 2340;
+        mInput.targetWidth = 200;
+        mInput.targetHeight = 120;
+        mInput.width = 480;
+        mInput.height = 640;
+        mInput.direction = PopupPlacementSolver.Direction.VERTICAL;
+        mInput.horizontal = PopupPlacementSolver.Horizontal.CENTER;
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.offsetY = 16;
+        mInput.autoFlip = autoFlip;
+        mBackgroundInput.width = 1080;
+        mBackgroundInput.height = 2340;
+        mBackgroundInput.paramsWidth = -1;
+        mBackgroundInput.paramsHeight = -1;
+        mBackgroundInput.resize = true;
+    }
+
+    private void moveTarget() {
+        mFrame = (mFrame + 7) % 2220;
+        mInput.targetX = mFrame % 880;
+        mInput.targetY = mFrame;
+    }
+
+    @Benchmark
+    public void solve(Blackhole bh) {
+        moveTarget();
+        PopupPlacementSolver.solve(mInput, mResult);
+        bh.consume(mResult.x);
+        bh.consume(mResult.y);
+    }
+
+    @Benchmark
+    public void solveWithBackground(Blackhole bh) {
+        moveTarget();
+        PopupPlacementSolver.solve(mInput, mResult);
+        PopupPlacementSolver.solveBackground(mInput, mResult, mBackgroundInput, mBackgroundResult);
+        bh.consume(mBackgroundResult.y);
+        bh.consume(mBackgroundResult.height);
+    }
+}
@@ -0,0 +1,476 @@
+package per.goweii.layer.popup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 浮层位置计算，只依赖传入的坐标和尺寸，不读写View
+ * {@link Input}和{@link Result}可复用，计算过程不分配对象，可在锚点移动时每帧调用
+ * 不依赖Android，对齐方式和拦截器都在这里单独定义，可以直接在JVM上测试
+ */
+public final class PopupPlacementSolver {
+
+    private PopupPlacementSolver() {
+    }
+
+    /**
+     * 计算内容的位置和尺寸
+     * 开启{@link Input#autoFlip}时，放不下的一侧会翻转到空间更大的另一侧，偏移量随之反向
+     */
+    public static void solve(@NonNull Input in, @NonNull Result out) {
+        Horizontal horizontal = in.horizontal;
+        Vertical vertical = in.vertical;
+        float offsetX = in.offsetX;
+        float offsetY = in.offsetY;
+        if (in.autoFlip) {
+            Horizontal flippedHorizontal = flipHorizontal(in, horizontal, offsetX);
+            if (flippedHorizontal != horizontal) {
+                horizontal = flippedHorizontal;
+                offsetX = -offsetX;
+            }
+            Vertical flippedVertical = flipVertical(in, vertical, offsetY);
+            if (flippedVertical != vertical) {
+                vertical = flippedVertical;
+                offsetY = -offsetY;
+            }
+        }
+        final int targetX = in.targetX;
+        final int targetY = in.targetY;
+        final int targetWidth = in.targetWidth;
+        final int targetHeight = in.targetHeight;
+        final int parentX = in.parentX;
+        final int parentY = in.parentY;
+        final int parentWidth = in.parentWidth;
+        final int parentHeight = in.parentHeight;
+        final int width = in.width;
+        final int height = in.height;
+        float w = width;
+        float h = height;
+        float x = 0;
+        float y = 0;
+        switch (horizontal) {
+            case CENTER:
+                if (in.matchParentWidth) {
+                    int l = targetX - parentX;
+                    int r = parentX + parentWidth - (targetX + targetWidth);
+                    if (l < r) {
+                        w = targetWidth + l * 2;
+                        x = 0;
+                    } else {
+                        w = targetWidth + r * 2;
+                        x = l - r;
+                    }
+                    w -= offsetX;
+                } else {
+                    x = targetX - parentX - (width - targetWidth) / 2F;
+                }
+                break;
+            case TO_LEFT:
+                if (in.matchParentWidth) {
+                    w = targetX - parentX;
+                    w -= offsetX;
+                    x = 0;
+                } else {
+                    x = targetX - parentX - width;
+                }
+                break;
+            case TO_RIGHT:
+                if (in.matchParentWidth) {
+                    w = parentX + parentWidth - (targetX + targetWidth);
+                    w -= offsetX;
+                }
+                x = targetX - parentX + targetWidth;
+                break;
+            case ALIGN_LEFT:
+                if (in.matchParentWidth) {
+                    w = parentWidth - (targetX - parentX);
+                    w -= offsetX;
+                }
+                x = targetX - parentX;
+                break;
+            case ALIGN_RIGHT:
+                if (in.matchParentWidth) {
+                    w = targetX - parentX + targetWidth;
+                    w -= offsetX;
+                    x = 0;
+                } else {
+                    x = targetX - parentX - (width - targetWidth);
+                }
+                break;
+            case CENTER_PARENT:
+                if (in.matchParentWidth) {
+                    w -= offsetX;
+                    x = 0;
+                } else {
+                    x = (parentWidth - width) / 2F;
+                }
+                break;
+            case TO_PARENT_LEFT:
+                x = -width;
+                break;
+            case TO_PARENT_RIGHT:
+                x = parentWidth;
+                break;
+            case ALIGN_PARENT_LEFT:
+                if (in.matchParentWidth) {
+                    w -= offsetX;
+                }
+                x = 0;
+                break;
+            case ALIGN_PARENT_RIGHT:
+                if (in.matchParentWidth) {
+                    w -= offsetX;
+                    x = 0;
+                } else {
+                    x = parentX + parentWidth - width;
+                }
+                break;
+            default:
+                break;
+        }
+        switch (vertical) {
+            case CENTER:
+                if (in.matchParentHeight) {
+                    int t = targetY - parentY;
+                    int b = parentY + parentHeight - (targetY + targetHeight);
+                    if (t < b) {
+                        h = targetHeight + t * 2;
+                        y = 0;
+                    } else {
+                        h = targetHeight + b * 2;
+                        y = t - b;
+                    }
+                    h -= offsetY;
+                } else {
+                    y = targetY - parentY - (height - targetHeight) / 2F;
+                }
+                break;
+            case ABOVE:
+                if (in.matchParentHeight) {
+                    h = targetY - parentY;
+                    h -= offsetY;
+                    y = 0;
+                } else {
+                    y = targetY - parentY - height;
+                }
+                break;
+            case BELOW:
+                if (in.matchParentHeight) {
+                    h = parentY + parentHeight - (targetY + targetHeight);
+                    h -= offsetY;
+                }
+                y = targetY - parentY + targetHeight;
+                break;
+            case ALIGN_TOP:
+                if (in.matchParentHeight) {
+                    h = parentHeight - (targetY - parentY);
+                    h -= offsetY;
+                }
+                y = targetY - parentY;
+                break;
+            case ALIGN_BOTTOM:
+                if (in.matchParentHeight) {
+                    h = targetY - parentY + targetHeight;
+                    h -= offsetY;
+                    y = 0;
+                } else {
+                    y = targetY - parentY - (height - targetHeight);
+                }
+                break;
+            case CENTER_PARENT:
+                if (in.matchParentHeight) {
+                    h -= offsetY;
+                    y = 0;
+                } else {
+                    y = (parentHeight - height) / 2F;
+                }
+                break;
+            case ABOVE_PARENT:
+                y = -height;
+                break;
+            case BELOW_PARENT:
+                y = parentHeight;
+                break;
+            case ALIGN_PARENT_TOP:
+                if (in.matchParentHeight) {
+                    h -= offsetY;
+                }
+                y = 0;
+                break;
+            case ALIGN_PARENT_BOTTOM:
+                if (in.matchParentHeight) {
+                    h -= offsetY;
+                    y = 0;
+                } else {
+                    y = parentY + parentHeight - height;
+                }
+                break;
+            default:
+                break;
+        }
+        if (in.interceptor != null) {
+            final float[] xy = out.mInterceptorXY;
+            xy[0] = x;
+            xy[1] = y;
+            in.interceptor.interceptor(
+                    xy, (int) w, (int) h,
+                    targetX, targetY, targetWidth, targetHeight,
+                    parentX, parentY, parentWidth, parentHeight
+            );
+            x = xy[0];
+            y = xy[1];
+        }
+        x += offsetX;
+        y += offsetY;
+        if (in.inside) {
+            x = range(x, 0, parentWidth - w);
+            y = range(y, 0, parentHeight - h);
+        }
+        out.x = x;
+        out.y = y;
+        out.width = w;
+        out.height = h;
+        out.horizontal = horizontal;
+        out.vertical = vertical;
+    }
+
+    /**
+     * 计算背景的位置和尺寸，需在{@link #solve(Input, Result)}之后调用
+     *
+     * @param content {@link #solve(Input, Result)}的结果
+     */
+    public static void solveBackground(@NonNull Input in,
+                                       @NonNull Result content,
+                                       @NonNull BackgroundInput background,
+                                       @NonNull Result out) {
+        final float cwx = content.x;
+        final float cwy = content.y;
+        final int cww = in.width;
+        final int cwh = in.height;
+        final int width = background.width;
+        final int height = background.height;
+        final int parentW = in.parentWidth;
+        final int parentH = in.parentHeight;
+        float x = 0, y = 0, w = background.paramsWidth, h = background.paramsHeight;
+        if (in.direction == Direction.HORIZONTAL) {
+            switch (content.horizontal) {
+                case TO_RIGHT:
+                case ALIGN_LEFT:
+                case ALIGN_PARENT_LEFT:
+                    x = cwx;
+                    if (background.resize) {
+                        w = (int) (parentW - cwx);
+                    }
+                    break;
+                case TO_LEFT:
+                case ALIGN_RIGHT:
+                case ALIGN_PARENT_RIGHT:
+                    x = -(width - (cwx + cww));
+                    if (background.resize) {
+                        w = cwx + cww;
+                        x = 0;
+                    }
+                    break;
+                case CENTER:
+                default:
+                    break;
+            }
+        } else if (in.direction == Direction.VERTICAL) {
+            switch (content.vertical) {
+                case BELOW:
+                case ALIGN_TOP:
+                case ALIGN_PARENT_TOP:
+                    y = cwy;
+                    if (background.resize) {
+                        h = (int) (parentH - cwy);
+                    }
+                    break;
+                case ABOVE:
+                case ALIGN_BOTTOM:
+                case ALIGN_PARENT_BOTTOM:
+                    y = -(height - (cwy + cwh));
+                    if (background.resize) {
+                        h = cwy + cwh;
+                        y = 0;
+                    }
+                    break;
+                case CENTER:
+                default:
+                    break;
+            }
+        }
+        out.x = x;
+        out.y = y;
+        out.width = w;
+        out.height = h;
+        out.horizontal = content.horizontal;
+        out.vertical = content.vertical;
+    }
+
+    @NonNull
+    private static Horizontal flipHorizontal(@NonNull Input in,
+                                             @NonNull Horizontal horizontal,
+                                             float offsetX) {
+        if (in.matchParentWidth) {
+            return horizontal;
+        }
+        final int spaceLeft = in.targetX - in.parentX;
+        final int spaceRight = in.parentX + in.parentWidth - (in.targetX + in.targetWidth);
+        switch (horizontal) {
+            case TO_RIGHT:
+                if (in.width + offsetX > spaceRight && spaceLeft > spaceRight) {
+                    return Horizontal.TO_LEFT;
+                }
+                break;
+            case TO_LEFT:
+                if (in.width - offsetX > spaceLeft && spaceRight > spaceLeft) {
+                    return Horizontal.TO_RIGHT;
+                }
+                break;
+            default:
+                break;
+        }
+        return horizontal;
+    }
+
+    @NonNull
+    private static Vertical flipVertical(@NonNull Input in,
+                                         @NonNull Vertical vertical,
+                                         float offsetY) {
+        if (in.matchParentHeight) {
+            return vertical;
+        }
+        final int spaceAbove = in.targetY - in.parentY;
+        final int spaceBelow = in.parentY + in.parentHeight - (in.targetY + in.targetHeight);
+        switch (vertical) {
+            case BELOW:
+                if (in.height + offsetY > spaceBelow && spaceAbove > spaceBelow) {
+                    return Vertical.ABOVE;
+                }
+                break;
+            case ABOVE:
+                if (in.height - offsetY > spaceAbove && spaceBelow > spaceAbove) {
+                    return Vertical.BELOW;
+                }
+                break;
+            default:
+                break;
+        }
+        return vertical;
+    }
+
+    /**
+     * 和Utils.floatRange一致
+     */
+    private static float range(float value, float min, float max) {
+        if (value < min) return min;
+        if (value > max) return max;
+        return value;
+    }
+
+    public static final class Input {
+        public int targetX;
+        public int targetY;
+        public int targetWidth;
+        public int targetHeight;
+        public int parentX;
+        public int parentY;
+        public int parentWidth;
+        public int parentHeight;
+        /**
+         * 浮层当前的尺寸
+         */
+        public int width;
+        public int height;
+        public boolean matchParentWidth;
+        public boolean matchParentHeight;
+        @NonNull
+        public Direction direction = Direction.VERTICAL;
+        @NonNull
+        public Horizontal horizontal = Horizontal.CENTER;
+        @NonNull
+        public Vertical vertical = Vertical.BELOW;
+        public float offsetX;
+        public float offsetY;
+        public boolean inside = true;
+        public boolean autoFlip = false;
+        @Nullable
+        public Interceptor interceptor;
+    }
+
+    public static final class BackgroundInput {
+        /**
+         * 背景当前的尺寸
+         */
+        public int width;
+        public int height;
+        /**
+         * 背景LayoutParams的尺寸
+         */
+        public int paramsWidth;
+        public int paramsHeight;
+        public boolean resize;
+    }
+
+    public static final class Result {
+        public float x;
+        public float y;
+        public float width;
+        public float height;
+        /**
+         * 翻转后实际使用的对齐方式
+         */
+        @NonNull
+        public Horizontal horizontal = Horizontal.CENTER;
+        @NonNull
+        public Vertical vertical = Vertical.BELOW;
+
+        private final float[] mInterceptorXY = new float[2];
+    }
+
+    public interface Interceptor {
+        void interceptor(@NonNull float[] popupXY, int popupWidth, int popupHeight,
+                         int targetX, int targetY, int targetWidth, int targetHeight,
+                         int parentX, int parentY, int parentWidth, int parentHeight);
+    }
+
+    /**
+     * 主方向
+     */
+    public enum Direction {
+        HORIZONTAL,
+        VERTICAL
+    }
+
+    /**
+     * 水平对齐方式
+     */
+    public enum Horizontal {
+        CENTER,
+        TO_LEFT,
+        TO_RIGHT,
+        ALIGN_LEFT,
+        ALIGN_RIGHT,
+        CENTER_PARENT,
+        TO_PARENT_LEFT,
+        TO_PARENT_RIGHT,
+        ALIGN_PARENT_LEFT,
+        ALIGN_PARENT_RIGHT
+    }
+
+    /**
+     * 垂直对齐方式
+     */
+    public enum Vertical {
+        CENTER,
+        ABOVE,
+        BELOW,
+        ALIGN_TOP,
+        ALIGN_BOTTOM,
+        CENTER_PARENT,
+        ABOVE_PARENT,
+        BELOW_PARENT,
+        ALIGN_PARENT_TOP,
+        ALIGN_PARENT_BOTTOM
+    }
+}
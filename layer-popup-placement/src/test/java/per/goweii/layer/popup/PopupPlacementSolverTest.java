@@ -0,0 +1,288 @@
+package per.goweii.layer.popup;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PopupPlacementSolverTest {
+    private static final float DELTA = 0.001F;
+
+    private PopupPlacementSolver.Input mInput;
+    private PopupPlacementSolver.Result mResult;
+    private PopupPlacementSolver.BackgroundInput mBackgroundInput;
+    private PopupPlacementSolver.Result mBackgroundResult;
+
+    @Before
+    public void setUp() {
+        mInput = new PopupPlacementSolver.Input();
+        mInput.parentX = 0;
+        mInput.parentY = 0;
+        mInput.parentWidth = 1000;
+        mInput.parentHeight = 2000;
+        mInput.width = 300;
+        mInput.height = 400;
+        mResult = new PopupPlacementSolver.Result();
+        mBackgroundInput = new PopupPlacementSolver.BackgroundInput();
+        mBackgroundResult = new PopupPlacementSolver.Result();
+    }
+
+    private void setTarget(int x, int y, int width, int height) {
+        mInput.targetX = x;
+        mInput.targetY = y;
+        mInput.targetWidth = width;
+        mInput.targetHeight = height;
+    }
+
+    @Test
+    public void centerBelow() {
+        setTarget(400, 100, 200, 100);
+        mInput.horizontal = PopupPlacementSolver.Horizontal.CENTER;
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(350, mResult.x, DELTA);
+        assertEquals(200, mResult.y, DELTA);
+        assertEquals(300, mResult.width, DELTA);
+        assertEquals(400, mResult.height, DELTA);
+    }
+
+    @Test
+    public void alignRightAbove() {
+        setTarget(400, 1000, 200, 100);
+        mInput.horizontal = PopupPlacementSolver.Horizontal.ALIGN_RIGHT;
+        mInput.vertical = PopupPlacementSolver.Vertical.ABOVE;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(300, mResult.x, DELTA);
+        assertEquals(600, mResult.y, DELTA);
+    }
+
+    @Test
+    public void offsetIsAdded() {
+        setTarget(400, 100, 200, 100);
+        mInput.offsetX = 10;
+        mInput.offsetY = 20;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(360, mResult.x, DELTA);
+        assertEquals(220, mResult.y, DELTA);
+    }
+
+    @Test
+    public void insideClampsToParent() {
+        setTarget(0, 1800, 100, 100);
+        mInput.horizontal = PopupPlacementSolver.Horizontal.CENTER;
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(0, mResult.x, DELTA);
+        assertEquals(1600, mResult.y, DELTA);
+    }
+
+    @Test
+    public void outsideIsNotClamped() {
+        setTarget(0, 1800, 100, 100);
+        mInput.inside = false;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(-100, mResult.x, DELTA);
+        assertEquals(1900, mResult.y, DELTA);
+    }
+
+    @Test
+    public void interceptorRunsBeforeOffset() {
+        setTarget(400, 100, 200, 100);
+        mInput.offsetX = 10;
+        mInput.offsetY = 20;
+        mInput.interceptor = new PopupPlacementSolver.Interceptor() {
+            @Override
+            public void interceptor(float[] popupXY, int popupWidth, int popupHeight,
+                                    int targetX, int targetY, int targetWidth, int targetHeight,
+                                    int parentX, int parentY, int parentWidth, int parentHeight) {
+                assertEquals(350, popupXY[0], DELTA);
+                assertEquals(200, popupXY[1], DELTA);
+                assertEquals(300, popupWidth);
+                assertEquals(400, popupHeight);
+                popupXY[0] = 100;
+                popupXY[1] = 500;
+            }
+        };
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(110, mResult.x, DELTA);
+        assertEquals(520, mResult.y, DELTA);
+    }
+
+    @Test
+    public void matchParentWidthBelow() {
+        setTarget(400, 100, 200, 100);
+        mInput.matchParentWidth = true;
+        mInput.matchParentHeight = true;
+        mInput.horizontal = PopupPlacementSolver.Horizontal.ALIGN_LEFT;
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.offsetY = 50;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertEquals(400, mResult.x, DELTA);
+        assertEquals(600, mResult.width, DELTA);
+        assertEquals(250, mResult.y, DELTA);
+        assertEquals(1750, mResult.height, DELTA);
+    }
+
+    @Test
+    public void noFlipWithoutAutoFlip() {
+        setTarget(400, 1800, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.inside = false;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Vertical.BELOW, mResult.vertical);
+        assertEquals(1900, mResult.y, DELTA);
+    }
+
+    @Test
+    public void autoFlipBelowToAboveNegatesOffset() {
+        setTarget(400, 1800, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.offsetY = 20;
+        mInput.autoFlip = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Vertical.ABOVE, mResult.vertical);
+        assertEquals(1800 - 400 - 20, mResult.y, DELTA);
+    }
+
+    @Test
+    public void autoFlipAboveToBelowNegatesOffset() {
+        setTarget(400, 100, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.ABOVE;
+        mInput.offsetY = -20;
+        mInput.autoFlip = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Vertical.BELOW, mResult.vertical);
+        assertEquals(200 + 20, mResult.y, DELTA);
+    }
+
+    @Test
+    public void autoFlipRightToLeftNegatesOffset() {
+        setTarget(900, 1000, 50, 100);
+        mInput.direction = PopupPlacementSolver.Direction.HORIZONTAL;
+        mInput.horizontal = PopupPlacementSolver.Horizontal.TO_RIGHT;
+        mInput.vertical = PopupPlacementSolver.Vertical.CENTER;
+        mInput.offsetX = 10;
+        mInput.autoFlip = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Horizontal.TO_LEFT, mResult.horizontal);
+        assertEquals(900 - 300 - 10, mResult.x, DELTA);
+    }
+
+    @Test
+    public void autoFlipLeftToRight() {
+        setTarget(50, 1000, 50, 100);
+        mInput.direction = PopupPlacementSolver.Direction.HORIZONTAL;
+        mInput.horizontal = PopupPlacementSolver.Horizontal.TO_LEFT;
+        mInput.vertical = PopupPlacementSolver.Vertical.CENTER;
+        mInput.autoFlip = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Horizontal.TO_RIGHT, mResult.horizontal);
+        assertEquals(100, mResult.x, DELTA);
+    }
+
+    @Test
+    public void autoFlipKeepsSideThatFits() {
+        setTarget(400, 100, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.offsetY = 20;
+        mInput.autoFlip = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Vertical.BELOW, mResult.vertical);
+        assertEquals(220, mResult.y, DELTA);
+    }
+
+    @Test
+    public void autoFlipKeepsSideWhenOtherSideIsSmaller() {
+        mInput.parentHeight = 500;
+        setTarget(400, 100, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.autoFlip = true;
+        mInput.inside = false;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Vertical.BELOW, mResult.vertical);
+        assertEquals(200, mResult.y, DELTA);
+    }
+
+    @Test
+    public void autoFlipSkipsMatchParent() {
+        setTarget(400, 1800, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.matchParentHeight = true;
+        mInput.autoFlip = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        assertSame(PopupPlacementSolver.Vertical.BELOW, mResult.vertical);
+    }
+
+    @Test
+    public void backgroundBelow() {
+        setTarget(400, 100, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mBackgroundInput.width = 1000;
+        mBackgroundInput.height = 2000;
+        mBackgroundInput.paramsWidth = -1;
+        mBackgroundInput.paramsHeight = -1;
+        mBackgroundInput.resize = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        PopupPlacementSolver.solveBackground(mInput, mResult, mBackgroundInput, mBackgroundResult);
+        assertEquals(200, mBackgroundResult.y, DELTA);
+        assertEquals(1800, mBackgroundResult.height, DELTA);
+    }
+
+    @Test
+    public void backgroundFollowsFlippedVerticalAlign() {
+        setTarget(400, 1800, 200, 100);
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.autoFlip = true;
+        mBackgroundInput.width = 1000;
+        mBackgroundInput.height = 2000;
+        mBackgroundInput.paramsWidth = -1;
+        mBackgroundInput.paramsHeight = -1;
+        PopupPlacementSolver.solve(mInput, mResult);
+        PopupPlacementSolver.solveBackground(mInput, mResult, mBackgroundInput, mBackgroundResult);
+        assertSame(PopupPlacementSolver.Vertical.ABOVE, mBackgroundResult.vertical);
+        // 背景底边和内容底边对齐
+        assertEquals(1800 - 2000, mBackgroundResult.y, DELTA);
+
+        mBackgroundInput.resize = true;
+        PopupPlacementSolver.solveBackground(mInput, mResult, mBackgroundInput, mBackgroundResult);
+        assertEquals(0, mBackgroundResult.y, DELTA);
+        assertEquals(1800, mBackgroundResult.height, DELTA);
+    }
+
+    @Test
+    public void backgroundFollowsFlippedHorizontalAlign() {
+        setTarget(900, 1000, 50, 100);
+        mInput.direction = PopupPlacementSolver.Direction.HORIZONTAL;
+        mInput.horizontal = PopupPlacementSolver.Horizontal.TO_RIGHT;
+        mInput.vertical = PopupPlacementSolver.Vertical.CENTER;
+        mInput.autoFlip = true;
+        mBackgroundInput.width = 1000;
+        mBackgroundInput.height = 2000;
+        mBackgroundInput.paramsWidth = -1;
+        mBackgroundInput.paramsHeight = -1;
+        mBackgroundInput.resize = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        PopupPlacementSolver.solveBackground(mInput, mResult, mBackgroundInput, mBackgroundResult);
+        assertSame(PopupPlacementSolver.Horizontal.TO_LEFT, mBackgroundResult.horizontal);
+        assertEquals(0, mBackgroundResult.x, DELTA);
+        assertEquals(900, mBackgroundResult.width, DELTA);
+    }
+
+    @Test
+    public void backgroundIgnoresOtherDirection() {
+        setTarget(400, 1800, 200, 100);
+        mInput.direction = PopupPlacementSolver.Direction.HORIZONTAL;
+        mInput.vertical = PopupPlacementSolver.Vertical.BELOW;
+        mInput.autoFlip = true;
+        mBackgroundInput.paramsWidth = -1;
+        mBackgroundInput.paramsHeight = -1;
+        mBackgroundInput.resize = true;
+        PopupPlacementSolver.solve(mInput, mResult);
+        PopupPlacementSolver.solveBackground(mInput, mResult, mBackgroundInput, mBackgroundResult);
+        assertEquals(0, mBackgroundResult.x, DELTA);
+        assertEquals(0, mBackgroundResult.y, DELTA);
+        assertEquals(-1, mBackgroundResult.width, DELTA);
+        assertEquals(-1, mBackgroundResult.height, DELTA);
+    }
+}
@@ -0,0 +1,456 @@
+package per.goweii.layer.popup;
+
+import android.animation.Animator;
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Rect;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.widget.FrameLayout;
+
+import androidx.annotation.CallSuper;
+import androidx.annotation.IntRange;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import per.goweii.layer.core.DecorLayer;
+import per.goweii.layer.core.anim.AnimatorHelper;
+
+/**
+ * 轻量的锚点浮层，适用于同时显示大量提示气泡的场景
+ * 内容控件直接添加到LayerLevelLayout中并通过setX/setY定位，
+ * 没有PopupLayer的容器、背景和滑动关闭包裹层，不拦截外部触摸，也不处理输入法
+ * 对齐方式和位置计算与{@link PopupLayer}一致
+ */
+public class LitePopupLayer extends DecorLayer {
+    private final int[] mLocationTemp = new int[2];
+    private final int[] mLocationRootTemp = new int[2];
+
+    private final PopupPlacementSolver.Input mPlacementInput = new PopupPlacementSolver.Input();
+    private final PopupPlacementSolver.Result mPlacementResult = new PopupPlacementSolver.Result();
+
+    private final PopupAnchorTracker mAnchorTracker = new PopupAnchorTracker(new Runnable() {
+        @Override
+        public void run() {
+            updateLocation();
+        }
+    });
+
+    private ViewTreeObserver.OnScrollChangedListener mOnScrollChangedListener = null;
+    /**
+     * 显示期间内容的LayoutParams会被改为计算后的尺寸，移除时恢复为MATCH_PARENT
+     */
+    private boolean mMatchParentWidth = false;
+    private boolean mMatchParentHeight = false;
+    private boolean mTargetMissing = false;
+
+    public LitePopupLayer(@NonNull Context context) {
+        super(context);
+    }
+
+    public LitePopupLayer(@NonNull Activity activity) {
+        super(activity);
+    }
+
+    public LitePopupLayer(@NonNull View targetView) {
+        super(targetView.getContext());
+        getViewHolder().setTarget(targetView);
+    }
+
+    @IntRange(from = 0)
+    @Override
+    protected int getLevel() {
+        return Level.POPUP;
+    }
+
+    @NonNull
+    @Override
+    protected ViewHolder onCreateViewHolder() {
+        return new ViewHolder();
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder getViewHolder() {
+        return (ViewHolder) super.getViewHolder();
+    }
+
+    @NonNull
+    @Override
+    protected Config onCreateConfig() {
+        return new Config();
+    }
+
+    @NonNull
+    @Override
+    public Config getConfig() {
+        return (Config) super.getConfig();
+    }
+
+    @NonNull
+    @Override
+    protected ListenerHolder onCreateListenerHolder() {
+        return new ListenerHolder();
+    }
+
+    @NonNull
+    @Override
+    public ListenerHolder getListenerHolder() {
+        return (ListenerHolder) super.getListenerHolder();
+    }
+
+    @NonNull
+    @Override
+    protected ViewGroup.LayoutParams generateDefaultLayoutParams() {
+        return new FrameLayout.LayoutParams(FrameLayout.LayoutParams.WRAP_CONTENT,
+                FrameLayout.LayoutParams.WRAP_CONTENT);
+    }
+
+    @Nullable
+    @Override
+    protected Animator onCreateInAnimator(@NonNull View view) {
+        Animator animator = super.onCreateInAnimator(view);
+        if (animator == null) {
+            animator = AnimatorHelper.createZoomAlphaInAnim(view);
+        }
+        return animator;
+    }
+
+    @Nullable
+    @Override
+    protected Animator onCreateOutAnimator(@NonNull View view) {
+        Animator animator = super.onCreateOutAnimator(view);
+        if (animator == null) {
+            animator = AnimatorHelper.createZoomAlphaOutAnim(view);
+        }
+        return animator;
+    }
+
+    @CallSuper
+    @Override
+    protected void onAttach() {
+        super.onAttach();
+        final ViewGroup.LayoutParams params = getViewHolder().getContent().getLayoutParams();
+        mMatchParentWidth = params.width == ViewGroup.LayoutParams.MATCH_PARENT;
+        mMatchParentHeight = params.height == ViewGroup.LayoutParams.MATCH_PARENT;
+        if (getConfig().mTargetResolver != null) {
+            getConfig().mTargetResolver.onAttach(this);
+        }
+        ViewTreeObserver viewTreeObserver = getViewHolder().getParent().getViewTreeObserver();
+        if (viewTreeObserver.isAlive()) {
+            mOnScrollChangedListener = new ViewTreeObserver.OnScrollChangedListener() {
+                @Override
+                public void onScrollChanged() {
+                    if (getConfig().mViewTreeScrollChangedToDismiss) {
+                        dismiss();
+                    }
+                    if (isShown()) {
+                        requestUpdateLocation();
+                    }
+                }
+            };
+            viewTreeObserver.addOnScrollChangedListener(mOnScrollChangedListener);
+        }
+    }
+
+    @Override
+    protected void onGlobalLayout() {
+        super.onGlobalLayout();
+        if (isShown()) {
+            requestUpdateLocation();
+        }
+    }
+
+    @CallSuper
+    @Override
+    protected void onDetach() {
+        mAnchorTracker.cancel();
+        if (getConfig().mTargetResolver != null) {
+            getConfig().mTargetResolver.onDetach(this);
+        }
+        setTargetMissing(false);
+        if (mOnScrollChangedListener != null) {
+            ViewTreeObserver viewTreeObserver = getViewHolder().getParent().getViewTreeObserver();
+            if (viewTreeObserver.isAlive()) {
+                viewTreeObserver.removeOnScrollChangedListener(mOnScrollChangedListener);
+            }
+            mOnScrollChangedListener = null;
+        }
+        if (mMatchParentWidth || mMatchParentHeight) {
+            final ViewGroup.LayoutParams params = getViewHolder().getContent().getLayoutParams();
+            if (mMatchParentWidth) {
+                params.width = ViewGroup.LayoutParams.MATCH_PARENT;
+            }
+            if (mMatchParentHeight) {
+                params.height = ViewGroup.LayoutParams.MATCH_PARENT;
+            }
+            getViewHolder().getContent().setLayoutParams(params);
+        }
+        super.onDetach();
+    }
+
+    /**
+     * 和其他浮层共用LayerLevelLayout，不修改其padding
+     * 边距变化会引起重新布局，位置在{@link #onGlobalLayout()}中更新
+     */
+    @Override
+    protected void fitDecorInsets(@NonNull Rect insets) {
+    }
+
+    /**
+     * 合并到每帧最多一次的位置更新
+     */
+    protected void requestUpdateLocation() {
+        mAnchorTracker.requestUpdate();
+    }
+
+    /**
+     * 立即更新位置
+     */
+    public void updateLocation() {
+        if (!isShown()) return;
+        if (getConfig().mTargetResolver != null) {
+            final View resolved = getConfig().mTargetResolver.resolveTarget();
+            getViewHolder().setTarget(resolved);
+            setTargetMissing(resolved == null);
+            if (resolved == null) {
+                return;
+            }
+        }
+        final View content = getViewHolder().getContent();
+        final ViewGroup parent = getViewHolder().getParent();
+        final View target = getViewHolder().getTarget();
+        final int[] location = mLocationTemp;
+        location[0] = 0;
+        location[1] = 0;
+        if (target != null) {
+            target.getLocationInWindow(location);
+        }
+        final int[] locationRoot = mLocationRootTemp;
+        getViewHolder().getDecor().getLocationInWindow(locationRoot);
+        final PopupPlacementSolver.Input in = mPlacementInput;
+        in.targetX = location[0] - locationRoot[0];
+        in.targetY = location[1] - locationRoot[1];
+        in.targetWidth = target == null ? 0 : target.getWidth();
+        in.targetHeight = target == null ? 0 : target.getHeight();
+        parent.getLocationInWindow(location);
+        in.parentX = location[0];
+        in.parentY = location[1];
+        in.parentWidth = parent.getWidth();
+        in.parentHeight = parent.getHeight();
+        in.width = content.getWidth();
+        in.height = content.getHeight();
+        in.matchParentWidth = mMatchParentWidth;
+        in.matchParentHeight = mMatchParentHeight;
+        in.direction = getConfig().mAlignDirection.mPlacement;
+        in.horizontal = getConfig().mAlignHorizontal.mPlacement;
+        in.vertical = getConfig().mAlignVertical.mPlacement;
+        in.offsetX = getConfig().mOffsetX;
+        in.offsetY = getConfig().mOffsetY;
+        in.inside = getConfig().mInside;
+        in.autoFlip = getConfig().mAutoFlip;
+        in.interceptor = getConfig().mUpdateLocationInterceptor;
+        final PopupPlacementSolver.Result out = mPlacementResult;
+        PopupPlacementSolver.solve(in, out);
+        // setX相对父控件左上角，不受其padding影响
+        content.setX(out.x);
+        content.setY(out.y);
+        if (mMatchParentWidth || mMatchParentHeight) {
+            final ViewGroup.LayoutParams params = content.getLayoutParams();
+            final int w = mMatchParentWidth ? (int) out.width : params.width;
+            final int h = mMatchParentHeight ? (int) out.height : params.height;
+            if (params.width != w || params.height != h) {
+                params.width = w;
+                params.height = h;
+                content.setLayoutParams(params);
+            }
+        }
+    }
+
+    private void setTargetMissing(boolean missing) {
+        if (mTargetMissing == missing) {
+            return;
+        }
+        mTargetMissing = missing;
+        getViewHolder().getContent().setVisibility(missing ? View.INVISIBLE : View.VISIBLE);
+    }
+
+    /**
+     * 内容即浮层的子控件，同{@link #setChild(View)}
+     */
+    @NonNull
+    public LitePopupLayer setContentView(@Nullable View contentView) {
+        setChild(contentView);
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setContentView(@LayoutRes int contentViewId) {
+        setChild(contentViewId);
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setTargetView(@Nullable View targetView) {
+        setTargetResolver(null);
+        getViewHolder().setTarget(targetView);
+        updateLocation();
+        return this;
+    }
+
+    /**
+     * @see PopupLayer#setTargetResolver(PopupLayer.TargetResolver)
+     */
+    @NonNull
+    public LitePopupLayer setTargetResolver(@Nullable PopupLayer.TargetResolver resolver) {
+        final PopupLayer.TargetResolver old = getConfig().mTargetResolver;
+        if (old == resolver) {
+            return this;
+        }
+        if (old != null && isShown()) {
+            old.onDetach(this);
+        }
+        getConfig().mTargetResolver = resolver;
+        if (resolver == null) {
+            setTargetMissing(false);
+            return this;
+        }
+        if (isShown()) {
+            resolver.onAttach(this);
+        }
+        updateLocation();
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setUpdateLocationInterceptor(@Nullable PopupLayer.UpdateLocationInterceptor interceptor) {
+        getConfig().mUpdateLocationInterceptor = interceptor;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setScrollChangedToDismiss(boolean toDismiss) {
+        getConfig().mViewTreeScrollChangedToDismiss = toDismiss;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setAlign(@NonNull PopupLayer.Align.Direction direction,
+                                   @NonNull PopupLayer.Align.Horizontal horizontal,
+                                   @NonNull PopupLayer.Align.Vertical vertical,
+                                   boolean inside) {
+        getConfig().mAlignDirection = direction;
+        getConfig().mAlignHorizontal = horizontal;
+        getConfig().mAlignVertical = vertical;
+        getConfig().mInside = inside;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setDirection(@NonNull PopupLayer.Align.Direction direction) {
+        getConfig().mAlignDirection = direction;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setHorizontal(@NonNull PopupLayer.Align.Horizontal horizontal) {
+        getConfig().mAlignHorizontal = horizontal;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setVertical(@NonNull PopupLayer.Align.Vertical vertical) {
+        getConfig().mAlignVertical = vertical;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setInside(boolean inside) {
+        getConfig().mInside = inside;
+        return this;
+    }
+
+    /**
+     * @see PopupLayer#setAutoFlip(boolean)
+     */
+    @NonNull
+    public LitePopupLayer setAutoFlip(boolean autoFlip) {
+        getConfig().mAutoFlip = autoFlip;
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setOffsetX(float offsetX, int unit) {
+        getConfig().mOffsetX = TypedValue.applyDimension(unit, offsetX, getActivity().getResources().getDisplayMetrics());
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setOffsetXdp(float dp) {
+        return setOffsetX(dp, TypedValue.COMPLEX_UNIT_DIP);
+    }
+
+    @NonNull
+    public LitePopupLayer setOffsetXpx(float px) {
+        return setOffsetX(px, TypedValue.COMPLEX_UNIT_PX);
+    }
+
+    @NonNull
+    public LitePopupLayer setOffsetY(float offsetY, int unit) {
+        getConfig().mOffsetY = TypedValue.applyDimension(unit, offsetY, getActivity().getResources().getDisplayMetrics());
+        return this;
+    }
+
+    @NonNull
+    public LitePopupLayer setOffsetYdp(float dp) {
+        return setOffsetY(dp, TypedValue.COMPLEX_UNIT_DIP);
+    }
+
+    @NonNull
+    public LitePopupLayer setOffsetYpx(float px) {
+        return setOffsetY(px, TypedValue.COMPLEX_UNIT_PX);
+    }
+
+    public static class ViewHolder extends DecorLayer.ViewHolder {
+        @Nullable
+        private View mTarget;
+
+        public void setTarget(@Nullable View target) {
+            mTarget = target;
+        }
+
+        @Nullable
+        public View getTarget() {
+            return mTarget;
+        }
+
+        @NonNull
+        public View getContent() {
+            return getChild();
+        }
+    }
+
+    protected static class Config extends DecorLayer.Config {
+        protected boolean mViewTreeScrollChangedToDismiss = false;
+        @Nullable
+        protected PopupLayer.UpdateLocationInterceptor mUpdateLocationInterceptor = null;
+        @Nullable
+        protected PopupLayer.TargetResolver mTargetResolver = null;
+        protected boolean mInside = true;
+        protected boolean mAutoFlip = false;
+        @NonNull
+        protected PopupLayer.Align.Direction mAlignDirection = PopupLayer.Align.Direction.VERTICAL;
+        @NonNull
+        protected PopupLayer.Align.Horizontal mAlignHorizontal = PopupLayer.Align.Horizontal.CENTER;
+        @NonNull
+        protected PopupLayer.Align.Vertical mAlignVertical = PopupLayer.Align.Vertical.BELOW;
+        protected float mOffsetX = 0F;
+        protected float mOffsetY = 0F;
+    }
+
+    protected static class ListenerHolder extends DecorLayer.ListenerHolder {
+    }
+}
@@ -0,0 +1,62 @@
+package per.goweii.layer.popup;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 合并滚动、布局等触发的位置更新，每帧最多更新一次
+ * 一帧内的第一次请求立即执行，不会比锚点滞后一帧，之后的请求合并到下一帧开始时执行
+ */
+final class PopupAnchorTracker implements Choreographer.FrameCallback {
+    private final Runnable mUpdater;
+
+    private boolean mFrameCallbackPosted = false;
+    private boolean mUpdatedInFrame = false;
+    private boolean mPending = false;
+
+    PopupAnchorTracker(@NonNull Runnable updater) {
+        mUpdater = updater;
+    }
+
+    void requestUpdate() {
+        if (mUpdatedInFrame) {
+            mPending = true;
+            postFrameCallback();
+            return;
+        }
+        mUpdatedInFrame = true;
+        postFrameCallback();
+        mUpdater.run();
+    }
+
+    void cancel() {
+        if (mFrameCallbackPosted) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            mFrameCallbackPosted = false;
+        }
+        mUpdatedInFrame = false;
+        mPending = false;
+    }
+
+    private void postFrameCallback() {
+        if (mFrameCallbackPosted) {
+            return;
+        }
+        mFrameCallbackPosted = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameCallbackPosted = false;
+        if (!mPending) {
+            mUpdatedInFrame = false;
+            return;
+        }
+        mPending = false;
+        mUpdatedInFrame = true;
+        postFrameCallback();
+        mUpdater.run();
+    }
+}
@@ -0,0 +1,141 @@
+package per.goweii.layer.popup;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import per.goweii.layer.core.DecorLayer;
+
+/**
+ * 同时显示多个锚点浮层，如新手引导中的多个提示
+ * 单独调用show时每个浮层各自post一次再添加，中间可能插入一帧，浮层会分几帧出现且动画不同步
+ * 这里在同一个消息中添加所有浮层，共用一次测量布局，位置在同一次布局回调中计算，
+ * 进入动画在同一次绘制前开始
+ */
+public class PopupGroup {
+    private final List<DecorLayer> mLayers = new ArrayList<>();
+
+    private View mPostView = null;
+    private Runnable mShowRunnable = null;
+
+    /**
+     * @param layers {@link PopupLayer}或{@link LitePopupLayer}，可以混合
+     */
+    @NonNull
+    public static PopupGroup showAll(@NonNull List<? extends DecorLayer> layers) {
+        final PopupGroup group = new PopupGroup();
+        for (int i = 0; i < layers.size(); i++) {
+            final DecorLayer layer = layers.get(i);
+            if (!(layer instanceof PopupLayer) && !(layer instanceof LitePopupLayer)) {
+                throw new IllegalArgumentException("只支持PopupLayer和LitePopupLayer");
+            }
+            group.addLayer(layer);
+        }
+        group.show();
+        return group;
+    }
+
+    @NonNull
+    public PopupGroup add(@NonNull PopupLayer layer) {
+        addLayer(layer);
+        return this;
+    }
+
+    @NonNull
+    public PopupGroup add(@NonNull LitePopupLayer layer) {
+        addLayer(layer);
+        return this;
+    }
+
+    private void addLayer(@NonNull DecorLayer layer) {
+        if (!mLayers.contains(layer)) {
+            mLayers.add(layer);
+        }
+    }
+
+    @NonNull
+    public PopupGroup remove(@NonNull DecorLayer layer) {
+        mLayers.remove(layer);
+        return this;
+    }
+
+    public int size() {
+        return mLayers.size();
+    }
+
+    @NonNull
+    public DecorLayer get(int index) {
+        return mLayers.get(index);
+    }
+
+    public boolean isShown() {
+        for (int i = 0; i < mLayers.size(); i++) {
+            if (mLayers.get(i).isShown()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void show() {
+        show(true);
+    }
+
+    /**
+     * 和{@link DecorLayer#show(boolean)}一样延后到下一个消息执行，但所有浮层只post一次
+     */
+    public void show(final boolean withAnim) {
+        if (mShowRunnable != null || mLayers.isEmpty()) {
+            return;
+        }
+        mPostView = mLayers.get(0).getViewHolder().getDecor();
+        mShowRunnable = new Runnable() {
+            @Override
+            public void run() {
+                mShowRunnable = null;
+                mPostView = null;
+                showImmediately(withAnim);
+            }
+        };
+        mPostView.post(mShowRunnable);
+    }
+
+    /**
+     * 立即依次添加所有浮层，添加只会请求布局，实际的测量布局在下一帧统一进行
+     */
+    public void showImmediately(boolean withAnim) {
+        cancelPendingShow();
+        for (int i = 0; i < mLayers.size(); i++) {
+            mLayers.get(i).showImmediately(withAnim);
+        }
+    }
+
+    public void dismiss() {
+        dismiss(true);
+    }
+
+    public void dismiss(boolean withAnim) {
+        if (cancelPendingShow()) {
+            return;
+        }
+        for (int i = 0; i < mLayers.size(); i++) {
+            mLayers.get(i).dismiss(withAnim);
+        }
+    }
+
+    private boolean cancelPendingShow() {
+        if (mShowRunnable == null) {
+            return false;
+        }
+        final View postView = mPostView;
+        if (postView != null) {
+            postView.removeCallbacks(mShowRunnable);
+        }
+        mShowRunnable = null;
+        mPostView = null;
+        return true;
+    }
+}
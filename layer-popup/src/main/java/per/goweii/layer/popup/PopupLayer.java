@@ -15,15 +15,39 @@ import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import per.goweii.layer.core.Layer;
 import per.goweii.layer.core.anim.AnimatorHelper;
 import per.goweii.layer.core.utils.Utils;
 import per.goweii.layer.dialog.DialogLayer;
 
 public class PopupLayer extends DialogLayer {
+    private static final int LOCATION_STATE_SIZE = 12;
 
     private final int[] mLocationTemp = new int[2];
+    private final int[] mLocationRootTemp = new int[2];
+    /**
+     * 上次更新位置时的锚点、容器和内容尺寸，未变化时跳过更新
+     */
+    private final int[] mLocationState = new int[LOCATION_STATE_SIZE];
+    private boolean mLocationStateValid = false;
+
+    private final PopupPlacementSolver.Input mPlacementInput = new PopupPlacementSolver.Input();
+    private final PopupPlacementSolver.Result mPlacementResult = new PopupPlacementSolver.Result();
+    private final PopupPlacementSolver.BackgroundInput mPlacementBackgroundInput = new PopupPlacementSolver.BackgroundInput();
+    private final PopupPlacementSolver.Result mPlacementBackgroundResult = new PopupPlacementSolver.Result();
+
+    private final PopupAnchorTracker mAnchorTracker = new PopupAnchorTracker(new Runnable() {
+        @Override
+        public void run() {
+            updateLocation(false);
+        }
+    });
 
     private ViewTreeObserver.OnScrollChangedListener mOnScrollChangedListener = null;
+    /**
+     * 通过{@link TargetResolver}找不到锚点，浮层已隐藏
+     */
+    private boolean mTargetMissing = false;
 
     public PopupLayer(@NonNull Context context) {
         super(context);
@@ -83,14 +107,10 @@ public class PopupLayer extends DialogLayer {
     @Override
     protected void onAttach() {
         super.onAttach();
-        Utils.getViewSize(getViewHolder().getContainer(), new Runnable() {
-            @Override
-            public void run() {
-                if (isShown()) {
-                    updateLocation();
-                }
-            }
-        });
+        if (getConfig().mTargetResolver != null) {
+            getConfig().mTargetResolver.onAttach(this);
+        }
+        // 首次布局后的位置更新由onGlobalLayout触发，不再为每个浮层单独添加布局监听
         ViewTreeObserver viewTreeObserver = getViewHolder().getParent().getViewTreeObserver();
         if (viewTreeObserver.isAlive()) {
             mOnScrollChangedListener = new ViewTreeObserver.OnScrollChangedListener() {
@@ -103,7 +123,7 @@ public class PopupLayer extends DialogLayer {
                         getConfig().mOnViewTreeScrollChangedListener.onScrollChanged();
                     }
                     if (isShown()) {
-                        updateLocation();
+                        requestUpdateLocation();
                     }
                 }
             };
@@ -111,9 +131,23 @@ public class PopupLayer extends DialogLayer {
         }
     }
 
+    @Override
+    protected void onGlobalLayout() {
+        super.onGlobalLayout();
+        if (isShown()) {
+            requestUpdateLocation();
+        }
+    }
+
     @CallSuper
     @Override
     protected void onDetach() {
+        mAnchorTracker.cancel();
+        mLocationStateValid = false;
+        if (getConfig().mTargetResolver != null) {
+            getConfig().mTargetResolver.onDetach(this);
+        }
+        setTargetMissing(false);
         if (mOnScrollChangedListener != null) {
             ViewTreeObserver viewTreeObserver = getViewHolder().getParent().getViewTreeObserver();
             if (viewTreeObserver.isAlive()) {
@@ -174,214 +208,41 @@ public class PopupLayer extends DialogLayer {
         Utils.setViewPadding(getViewHolder().getContainer(), insets);
         getViewHolder().getContainer().setClipToPadding(false);
         getViewHolder().getContainer().setClipChildren(false);
-        Utils.onViewLayout(getViewHolder().getDecor(), new Runnable() {
-            @Override
-            public void run() {
-                if (isShown()) {
-                    updateLocation();
-                }
-            }
-        });
     }
 
-    private void initContentLocation(int targetX, int targetY, int targetWidth, int targetHeight) {
-        resetLocationTemp();
-        final int[] location = mLocationTemp;
-        getViewHolder().getContainer().getLocationInWindow(location);
-        int parentX = location[0];
-        int parentY = location[1];
-        int parentWidth = getViewHolder().getContainer().getWidth();
-        int parentHeight = getViewHolder().getContainer().getHeight();
+    private void initContentLocation(int targetX, int targetY, int targetWidth, int targetHeight,
+                                     int parentX, int parentY) {
         int width = getViewHolder().getContentWrapper().getWidth();
         int height = getViewHolder().getContentWrapper().getHeight();
         FrameLayout.LayoutParams clp = (FrameLayout.LayoutParams) getViewHolder().getContent().getLayoutParams();
         FrameLayout.LayoutParams cwlp = (FrameLayout.LayoutParams) getViewHolder().getContentWrapper().getLayoutParams();
-        float w = width;
-        float h = height;
-        float x = 0;
-        float y = 0;
-        switch (getConfig().mAlignHorizontal) {
-            case CENTER:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    int l = targetX - parentX;
-                    int r = parentX + parentWidth - (targetX + targetWidth);
-                    if (l < r) {
-                        w = targetWidth + l * 2;
-                        x = 0;
-                    } else {
-                        w = targetWidth + r * 2;
-                        x = l - r;
-                    }
-                    w -= getConfig().mOffsetX;
-                } else {
-                    x = targetX - parentX - (width - targetWidth) / 2F;
-                }
-                break;
-            case TO_LEFT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w = targetX - parentX;
-                    w -= getConfig().mOffsetX;
-                    x = 0;
-                } else {
-                    x = targetX - parentX - width;
-                }
-                break;
-            case TO_RIGHT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w = parentX + parentWidth - (targetX + targetWidth);
-                    w -= getConfig().mOffsetX;
-                }
-                x = targetX - parentX + targetWidth;
-                break;
-            case ALIGN_LEFT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w = parentWidth - (targetX - parentX);
-                    w -= getConfig().mOffsetX;
-                }
-                x = targetX - parentX;
-                break;
-            case ALIGN_RIGHT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w = targetX - parentX + targetWidth;
-                    w -= getConfig().mOffsetX;
-                    x = 0;
-                } else {
-                    x = targetX - parentX - (width - targetWidth);
-                }
-                break;
-            case CENTER_PARENT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w -= getConfig().mOffsetX;
-                    x = 0;
-                } else {
-                    x = (parentWidth - width) / 2F;
-                }
-                break;
-            case TO_PARENT_LEFT:
-                x = -width;
-                break;
-            case TO_PARENT_RIGHT:
-                x = parentWidth;
-                break;
-            case ALIGN_PARENT_LEFT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w -= getConfig().mOffsetX;
-                }
-                x = 0;
-                break;
-            case ALIGN_PARENT_RIGHT:
-                if (clp.width == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    w -= getConfig().mOffsetX;
-                    x = 0;
-                } else {
-                    x = parentX + parentWidth - width;
-                }
-                break;
-            default:
-                break;
-        }
-        switch (getConfig().mAlignVertical) {
-            case CENTER:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    int t = targetY - parentY;
-                    int b = parentY + parentHeight - (targetY + targetHeight);
-                    if (t < b) {
-                        h = targetHeight + t * 2;
-                        y = 0;
-                    } else {
-                        h = targetHeight + b * 2;
-                        y = t - b;
-                    }
-                    h -= getConfig().mOffsetY;
-                } else {
-                    y = targetY - parentY - (height - targetHeight) / 2F;
-                }
-                break;
-            case ABOVE:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h = targetY - parentY;
-                    h -= getConfig().mOffsetY;
-                    y = 0;
-                } else {
-                    y = targetY - parentY - height;
-                }
-                break;
-            case BELOW:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h = parentY + parentHeight - (targetY + targetHeight);
-                    h -= getConfig().mOffsetY;
-                }
-                y = targetY - parentY + targetHeight;
-                break;
-            case ALIGN_TOP:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h = parentHeight - (targetY - parentY);
-                    h -= getConfig().mOffsetY;
-                }
-                y = targetY - parentY;
-                break;
-            case ALIGN_BOTTOM:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h = targetY - parentY + targetHeight;
-                    h -= getConfig().mOffsetY;
-                    y = 0;
-                } else {
-                    y = targetY - parentY - (height - targetHeight);
-                }
-                break;
-            case CENTER_PARENT:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h -= getConfig().mOffsetY;
-                    y = 0;
-                } else {
-                    y = (parentHeight - height) / 2F;
-                }
-                break;
-            case ABOVE_PARENT:
-                y = -height;
-                break;
-            case BELOW_PARENT:
-                y = parentHeight;
-                break;
-            case ALIGN_PARENT_TOP:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h -= getConfig().mOffsetY;
-                }
-                y = 0;
-                break;
-            case ALIGN_PARENT_BOTTOM:
-                if (clp.height == FrameLayout.LayoutParams.MATCH_PARENT) {
-                    h -= getConfig().mOffsetY;
-                    y = 0;
-                } else {
-                    y = parentY + parentHeight - height;
-                }
-                break;
-            default:
-                break;
-        }
-        if (getConfig().mUpdateLocationInterceptor != null) {
-            float[] xy = new float[]{x, y};
-            getConfig().mUpdateLocationInterceptor.interceptor(
-                    xy, (int) w, (int) h,
-                    targetX, targetY, targetWidth, targetHeight,
-                    parentX, parentY, parentWidth, parentHeight
-            );
-            x = xy[0];
-            y = xy[1];
-        }
-        if (getConfig().mOffsetX != 0) {
-            x += getConfig().mOffsetX;
-        }
-        if (getConfig().mOffsetY != 0) {
-            y += getConfig().mOffsetY;
-        }
-        if (getConfig().mInside) {
-            x = Utils.floatRange(x, 0, parentWidth - w);
-            y = Utils.floatRange(y, 0, parentHeight - h);
-        }
-        getViewHolder().getContentWrapper().setX(x);
-        getViewHolder().getContentWrapper().setY(y);
+        final PopupPlacementSolver.Input in = mPlacementInput;
+        in.targetX = targetX;
+        in.targetY = targetY;
+        in.targetWidth = targetWidth;
+        in.targetHeight = targetHeight;
+        in.parentX = parentX;
+        in.parentY = parentY;
+        in.parentWidth = getViewHolder().getContainer().getWidth();
+        in.parentHeight = getViewHolder().getContainer().getHeight();
+        in.width = width;
+        in.height = height;
+        in.matchParentWidth = clp.width == FrameLayout.LayoutParams.MATCH_PARENT;
+        in.matchParentHeight = clp.height == FrameLayout.LayoutParams.MATCH_PARENT;
+        in.direction = getConfig().mAlignDirection.mPlacement;
+        in.horizontal = getConfig().mAlignHorizontal.mPlacement;
+        in.vertical = getConfig().mAlignVertical.mPlacement;
+        in.offsetX = getConfig().mOffsetX;
+        in.offsetY = getConfig().mOffsetY;
+        in.inside = getConfig().mInside;
+        in.autoFlip = getConfig().mAutoFlip;
+        in.interceptor = getConfig().mUpdateLocationInterceptor;
+        final PopupPlacementSolver.Result out = mPlacementResult;
+        PopupPlacementSolver.solve(in, out);
+        float w = out.width;
+        float h = out.height;
+        getViewHolder().getContentWrapper().setX(out.x);
+        getViewHolder().getContentWrapper().setY(out.y);
         boolean paramsChanged = false;
         if (width != w) {
             paramsChanged = true;
@@ -397,13 +258,16 @@ public class PopupLayer extends DialogLayer {
                 @Override
                 public void run() {
                     if (isShown()) {
-                        updateLocation();
+                        requestUpdateLocation();
                     }
                 }
             });
         }
     }
 
+    /**
+     * 需在{@link #initContentLocation(int, int, int, int, int, int)}之后调用
+     */
     private void initBackgroundLocation() {
         if (getViewHolder().getBackground() == null) {
             return;
@@ -414,64 +278,18 @@ public class PopupLayer extends DialogLayer {
             return;
         }
         FrameLayout.LayoutParams params = (FrameLayout.LayoutParams) getViewHolder().getBackground().getLayoutParams();
-        int width = getViewHolder().getBackground().getWidth();
-        int height = getViewHolder().getBackground().getHeight();
-        int cww = getViewHolder().getContentWrapper().getWidth();
-        int cwh = getViewHolder().getContentWrapper().getHeight();
-        final float cwx = getViewHolder().getContentWrapper().getX();
-        final float cwy = getViewHolder().getContentWrapper().getY();
-        float x = 0, y = 0, w = params.width, h = params.height;
-        int parentW = getViewHolder().getContainer().getWidth();
-        int parentH = getViewHolder().getContainer().getHeight();
-        if (getConfig().mAlignDirection == Align.Direction.HORIZONTAL) {
-            switch (getConfig().mAlignHorizontal) {
-                case TO_RIGHT:
-                case ALIGN_LEFT:
-                case ALIGN_PARENT_LEFT:
-                    x = cwx;
-                    if (getConfig().mBackgroundResize) {
-                        w = (int) (parentW - cwx);
-                    }
-                    break;
-                case TO_LEFT:
-                case ALIGN_RIGHT:
-                case ALIGN_PARENT_RIGHT:
-                    x = -(width - (cwx + cww));
-                    if (getConfig().mBackgroundResize) {
-                        w = cwx + cww;
-                        x = 0;
-                    }
-                    break;
-                case CENTER:
-                default:
-                    break;
-            }
-        } else if (getConfig().mAlignDirection == Align.Direction.VERTICAL) {
-            switch (getConfig().mAlignVertical) {
-                case BELOW:
-                case ALIGN_TOP:
-                case ALIGN_PARENT_TOP:
-                    y = cwy;
-                    if (getConfig().mBackgroundResize) {
-                        h = (int) (parentH - cwy);
-                    }
-                    break;
-                case ABOVE:
-                case ALIGN_BOTTOM:
-                case ALIGN_PARENT_BOTTOM:
-                    y = -(height - (cwy + cwh));
-                    if (getConfig().mBackgroundResize) {
-                        h = cwy + cwh;
-                        y = 0;
-                    }
-                    break;
-                case CENTER:
-                default:
-                    break;
-            }
-        }
-        getViewHolder().getBackground().setX(x);
-        getViewHolder().getBackground().setY(y);
+        final PopupPlacementSolver.BackgroundInput in = mPlacementBackgroundInput;
+        in.width = getViewHolder().getBackground().getWidth();
+        in.height = getViewHolder().getBackground().getHeight();
+        in.paramsWidth = params.width;
+        in.paramsHeight = params.height;
+        in.resize = getConfig().mBackgroundResize;
+        final PopupPlacementSolver.Result out = mPlacementBackgroundResult;
+        PopupPlacementSolver.solveBackground(mPlacementInput, mPlacementResult, in, out);
+        float w = out.width;
+        float h = out.height;
+        getViewHolder().getBackground().setX(out.x);
+        getViewHolder().getBackground().setY(out.y);
         boolean changed = false;
         if (params.width != w) {
             changed = true;
@@ -487,7 +305,7 @@ public class PopupLayer extends DialogLayer {
                 @Override
                 public void run() {
                     if (isShown()) {
-                        updateLocation();
+                        requestUpdateLocation();
                     }
                 }
             });
@@ -499,15 +317,38 @@ public class PopupLayer extends DialogLayer {
         mLocationTemp[1] = 0;
     }
 
+    /**
+     * 立即更新位置
+     * 滚动和布局变化时会自动更新，且每帧最多更新一次
+     */
     public void updateLocation() {
+        updateLocation(true);
+    }
+
+    /**
+     * 合并到每帧最多一次的位置更新
+     */
+    protected void requestUpdateLocation() {
+        mAnchorTracker.requestUpdate();
+    }
+
+    private void updateLocation(boolean force) {
         if (!isShown()) return;
+        if (getConfig().mTargetResolver != null) {
+            final View resolved = getConfig().mTargetResolver.resolveTarget();
+            getViewHolder().setTarget(resolved);
+            setTargetMissing(resolved == null);
+            if (resolved == null) {
+                return;
+            }
+        }
         final View target = getViewHolder().getTarget();
         resetLocationTemp();
         final int[] location = mLocationTemp;
         if (target != null) {
             target.getLocationInWindow(location);
         }
-        final int[] locationRoot = new int[2];
+        final int[] locationRoot = mLocationRootTemp;
         getViewHolder().getDecor().getLocationInWindow(locationRoot);
         final int targetX = (location[0] - locationRoot[0]);
         final int targetY = (location[1] - locationRoot[1]);
@@ -517,10 +358,63 @@ public class PopupLayer extends DialogLayer {
             targetWidth = target.getWidth();
             targetHeight = target.getHeight();
         }
-        initContentLocation(targetX, targetY, targetWidth, targetHeight);
+        resetLocationTemp();
+        getViewHolder().getContainer().getLocationInWindow(location);
+        final int parentX = location[0];
+        final int parentY = location[1];
+        if (!updateLocationState(targetX, targetY, targetWidth, targetHeight, parentX, parentY) && !force) {
+            return;
+        }
+        initContentLocation(targetX, targetY, targetWidth, targetHeight, parentX, parentY);
         initBackgroundLocation();
     }
 
+    /**
+     * 锚点不在屏幕上时只隐藏容器，不移除浮层，锚点回到屏幕上时直接显示
+     */
+    private void setTargetMissing(boolean missing) {
+        if (mTargetMissing == missing) {
+            return;
+        }
+        mTargetMissing = missing;
+        getViewHolder().getContainer().setVisibility(missing ? View.INVISIBLE : View.VISIBLE);
+        if (!missing) {
+            mLocationStateValid = false;
+        }
+    }
+
+    /**
+     * @return 和上次相比是否有变化
+     */
+    private boolean updateLocationState(int targetX, int targetY, int targetWidth, int targetHeight,
+                                        int parentX, int parentY) {
+        final View background = getViewHolder().getBackground();
+        final int[] state = mLocationState;
+        boolean changed = !mLocationStateValid;
+        changed |= setLocationState(state, 0, targetX);
+        changed |= setLocationState(state, 1, targetY);
+        changed |= setLocationState(state, 2, targetWidth);
+        changed |= setLocationState(state, 3, targetHeight);
+        changed |= setLocationState(state, 4, parentX);
+        changed |= setLocationState(state, 5, parentY);
+        changed |= setLocationState(state, 6, getViewHolder().getContainer().getWidth());
+        changed |= setLocationState(state, 7, getViewHolder().getContainer().getHeight());
+        changed |= setLocationState(state, 8, getViewHolder().getContentWrapper().getWidth());
+        changed |= setLocationState(state, 9, getViewHolder().getContentWrapper().getHeight());
+        changed |= setLocationState(state, 10, background == null ? 0 : background.getWidth());
+        changed |= setLocationState(state, 11, background == null ? 0 : background.getHeight());
+        mLocationStateValid = true;
+        return changed;
+    }
+
+    private static boolean setLocationState(@NonNull int[] state, int index, int value) {
+        if (state[index] == value) {
+            return false;
+        }
+        state[index] = value;
+        return true;
+    }
+
     @NonNull
     public PopupLayer setUpdateLocationInterceptor(@Nullable UpdateLocationInterceptor interceptor) {
         getConfig().mUpdateLocationInterceptor = interceptor;
@@ -541,11 +435,39 @@ public class PopupLayer extends DialogLayer {
 
     @NonNull
     public PopupLayer setTargetView(@Nullable View targetView) {
+        setTargetResolver(null);
         getViewHolder().setTarget(targetView);
         updateLocation();
         return this;
     }
 
+    /**
+     * 每次更新位置时重新查找锚点，适用于锚点会被复用的场景，如RecyclerView的item
+     * 找不到锚点时隐藏浮层，重新找到后显示，设置后{@link #setTargetView(View)}不再生效
+     *
+     * @see RecyclerViewItemTarget
+     */
+    @NonNull
+    public PopupLayer setTargetResolver(@Nullable TargetResolver resolver) {
+        final TargetResolver old = getConfig().mTargetResolver;
+        if (old == resolver) {
+            return this;
+        }
+        if (old != null && isShown()) {
+            old.onDetach(this);
+        }
+        getConfig().mTargetResolver = resolver;
+        if (resolver == null) {
+            setTargetMissing(false);
+            return this;
+        }
+        if (isShown()) {
+            resolver.onAttach(this);
+        }
+        updateLocation();
+        return this;
+    }
+
     /**
      * 是否裁剪contentView至包裹边界
      *
@@ -656,6 +578,17 @@ public class PopupLayer extends DialogLayer {
         return this;
     }
 
+    /**
+     * 空间不足时自动翻转到锚点另一侧，只对BELOW/ABOVE和TO_LEFT/TO_RIGHT生效，偏移量随之反向
+     *
+     * @param autoFlip 是否自动翻转
+     */
+    @NonNull
+    public PopupLayer setAutoFlip(boolean autoFlip) {
+        getConfig().mAutoFlip = autoFlip;
+        return this;
+    }
+
     /**
      * X轴偏移
      *
@@ -738,11 +671,14 @@ public class PopupLayer extends DialogLayer {
         protected boolean mViewTreeScrollChangedToDismiss = false;
         @Nullable
         protected UpdateLocationInterceptor mUpdateLocationInterceptor = null;
+        @Nullable
+        protected TargetResolver mTargetResolver = null;
         protected boolean mContentClip = true;
         protected boolean mBackgroundAlign = true;
         protected boolean mBackgroundOffset = true;
         protected boolean mBackgroundResize = false;
         protected boolean mInside = true;
+        protected boolean mAutoFlip = false;
         @NonNull
         protected Align.Direction mAlignDirection = Align.Direction.VERTICAL;
         @NonNull
@@ -756,10 +692,24 @@ public class PopupLayer extends DialogLayer {
     protected static class ListenerHolder extends DialogLayer.ListenerHolder {
     }
 
-    public interface UpdateLocationInterceptor {
-        void interceptor(@NonNull float[] popupXY, int popupWidth, int popupHeight,
-                         int targetX, int targetY, int targetWidth, int targetHeight,
-                         int parentX, int parentY, int parentWidth, int parentHeight);
+    public interface TargetResolver {
+        /**
+         * 浮层显示时调用，可在此注册数据变化的监听
+         */
+        void onAttach(@NonNull Layer layer);
+
+        /**
+         * 每次更新位置时调用，需要足够轻量
+         *
+         * @return 当前的锚点，不在屏幕上时返回null
+         */
+        @Nullable
+        View resolveTarget();
+
+        void onDetach(@NonNull Layer layer);
+    }
+
+    public interface UpdateLocationInterceptor extends PopupPlacementSolver.Interceptor {
     }
 
     public interface OnViewTreeScrollChangedListener {
@@ -771,40 +721,58 @@ public class PopupLayer extends DialogLayer {
          * 主方向
          */
         public enum Direction {
-            HORIZONTAL,
-            VERTICAL
+            HORIZONTAL(PopupPlacementSolver.Direction.HORIZONTAL),
+            VERTICAL(PopupPlacementSolver.Direction.VERTICAL);
+
+            final PopupPlacementSolver.Direction mPlacement;
+
+            Direction(PopupPlacementSolver.Direction placement) {
+                mPlacement = placement;
+            }
         }
 
         /**
          * 水平对齐方式
          */
         public enum Horizontal {
-            CENTER,
-            TO_LEFT,
-            TO_RIGHT,
-            ALIGN_LEFT,
-            ALIGN_RIGHT,
-            CENTER_PARENT,
-            TO_PARENT_LEFT,
-            TO_PARENT_RIGHT,
-            ALIGN_PARENT_LEFT,
-            ALIGN_PARENT_RIGHT
+            CENTER(PopupPlacementSolver.Horizontal.CENTER),
+            TO_LEFT(PopupPlacementSolver.Horizontal.TO_LEFT),
+            TO_RIGHT(PopupPlacementSolver.Horizontal.TO_RIGHT),
+            ALIGN_LEFT(PopupPlacementSolver.Horizontal.ALIGN_LEFT),
+            ALIGN_RIGHT(PopupPlacementSolver.Horizontal.ALIGN_RIGHT),
+            CENTER_PARENT(PopupPlacementSolver.Horizontal.CENTER_PARENT),
+            TO_PARENT_LEFT(PopupPlacementSolver.Horizontal.TO_PARENT_LEFT),
+            TO_PARENT_RIGHT(PopupPlacementSolver.Horizontal.TO_PARENT_RIGHT),
+            ALIGN_PARENT_LEFT(PopupPlacementSolver.Horizontal.ALIGN_PARENT_LEFT),
+            ALIGN_PARENT_RIGHT(PopupPlacementSolver.Horizontal.ALIGN_PARENT_RIGHT);
+
+            final PopupPlacementSolver.Horizontal mPlacement;
+
+            Horizontal(PopupPlacementSolver.Horizontal placement) {
+                mPlacement = placement;
+            }
         }
 
         /**
          * 垂直对齐方式
          */
         public enum Vertical {
-            CENTER,
-            ABOVE,
-            BELOW,
-            ALIGN_TOP,
-            ALIGN_BOTTOM,
-            CENTER_PARENT,
-            ABOVE_PARENT,
-            BELOW_PARENT,
-            ALIGN_PARENT_TOP,
-            ALIGN_PARENT_BOTTOM
+            CENTER(PopupPlacementSolver.Vertical.CENTER),
+            ABOVE(PopupPlacementSolver.Vertical.ABOVE),
+            BELOW(PopupPlacementSolver.Vertical.BELOW),
+            ALIGN_TOP(PopupPlacementSolver.Vertical.ALIGN_TOP),
+            ALIGN_BOTTOM(PopupPlacementSolver.Vertical.ALIGN_BOTTOM),
+            CENTER_PARENT(PopupPlacementSolver.Vertical.CENTER_PARENT),
+            ABOVE_PARENT(PopupPlacementSolver.Vertical.ABOVE_PARENT),
+            BELOW_PARENT(PopupPlacementSolver.Vertical.BELOW_PARENT),
+            ALIGN_PARENT_TOP(PopupPlacementSolver.Vertical.ALIGN_PARENT_TOP),
+            ALIGN_PARENT_BOTTOM(PopupPlacementSolver.Vertical.ALIGN_PARENT_BOTTOM);
+
+            final PopupPlacementSolver.Vertical mPlacement;
+
+            Vertical(PopupPlacementSolver.Vertical placement) {
+                mPlacement = placement;
+            }
         }
     }
 }
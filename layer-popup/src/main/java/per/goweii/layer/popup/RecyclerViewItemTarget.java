@@ -0,0 +1,156 @@
+package per.goweii.layer.popup;
+
+import android.view.View;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import per.goweii.layer.core.Layer;
+
+/**
+ * 以RecyclerView的item为锚点，item被复用或重新绑定后仍能找到对应的控件
+ * Adapter开启StableIds时按itemId查找，否则按adapter position查找，并跟随增删移动修正位置
+ * item被删除后不再显示浮层
+ * 需要依赖androidx.recyclerview
+ */
+public class RecyclerViewItemTarget implements PopupLayer.TargetResolver {
+    private final RecyclerView mRecyclerView;
+    private final long mItemId;
+    private int mPosition;
+    @IdRes
+    private int mTargetId = View.NO_ID;
+
+    private RecyclerView.Adapter<?> mAdapter = null;
+    private final RecyclerView.AdapterDataObserver mObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            if (mPosition == RecyclerView.NO_POSITION) return;
+            if (positionStart <= mPosition) {
+                mPosition += itemCount;
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            if (mPosition == RecyclerView.NO_POSITION) return;
+            if (positionStart + itemCount <= mPosition) {
+                mPosition -= itemCount;
+            } else if (positionStart <= mPosition) {
+                mPosition = RecyclerView.NO_POSITION;
+            }
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            if (mPosition == RecyclerView.NO_POSITION) return;
+            // RecyclerView只支持移动单个item
+            if (fromPosition == mPosition) {
+                mPosition = toPosition;
+            } else if (fromPosition < mPosition && toPosition >= mPosition) {
+                mPosition--;
+            } else if (fromPosition > mPosition && toPosition <= mPosition) {
+                mPosition++;
+            }
+        }
+    };
+
+    /**
+     * Adapter开启StableIds时自动取当前的itemId
+     */
+    public RecyclerViewItemTarget(@NonNull RecyclerView recyclerView, int adapterPosition) {
+        this(recyclerView, adapterPosition, getItemId(recyclerView, adapterPosition));
+    }
+
+    public RecyclerViewItemTarget(@NonNull RecyclerView recyclerView, int adapterPosition, long itemId) {
+        mRecyclerView = recyclerView;
+        mPosition = adapterPosition;
+        mItemId = itemId;
+    }
+
+    private static long getItemId(@NonNull RecyclerView recyclerView, int adapterPosition) {
+        final RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (adapter == null || !adapter.hasStableIds()) {
+            return RecyclerView.NO_ID;
+        }
+        if (adapterPosition < 0 || adapterPosition >= adapter.getItemCount()) {
+            return RecyclerView.NO_ID;
+        }
+        return adapter.getItemId(adapterPosition);
+    }
+
+    /**
+     * 以item中的子控件为锚点
+     */
+    @NonNull
+    public RecyclerViewItemTarget setTargetId(@IdRes int id) {
+        mTargetId = id;
+        return this;
+    }
+
+    public int getPosition() {
+        return mPosition;
+    }
+
+    public long getItemId() {
+        return mItemId;
+    }
+
+    @Override
+    public void onAttach(@NonNull Layer layer) {
+        mAdapter = mRecyclerView.getAdapter();
+        if (mAdapter != null) {
+            mAdapter.registerAdapterDataObserver(mObserver);
+        }
+    }
+
+    @Override
+    public void onDetach(@NonNull Layer layer) {
+        if (mAdapter != null) {
+            mAdapter.unregisterAdapterDataObserver(mObserver);
+            mAdapter = null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public View resolveTarget() {
+        if (mAdapter != mRecyclerView.getAdapter()) {
+            // 更换了Adapter，原来的item已不存在
+            return null;
+        }
+        final RecyclerView.ViewHolder holder = findViewHolder();
+        if (holder == null) {
+            return null;
+        }
+        final int position = holder.getAbsoluteAdapterPosition();
+        if (position != RecyclerView.NO_POSITION) {
+            mPosition = position;
+        }
+        final View itemView = holder.itemView;
+        if (!ViewCompat.isAttachedToWindow(itemView) || itemView.getParent() != mRecyclerView) {
+            return null;
+        }
+        if (itemView.getBottom() <= 0 || itemView.getTop() >= mRecyclerView.getHeight()
+                || itemView.getRight() <= 0 || itemView.getLeft() >= mRecyclerView.getWidth()) {
+            return null;
+        }
+        if (mTargetId == View.NO_ID) {
+            return itemView;
+        }
+        return itemView.findViewById(mTargetId);
+    }
+
+    @Nullable
+    private RecyclerView.ViewHolder findViewHolder() {
+        if (mItemId != RecyclerView.NO_ID && mAdapter != null && mAdapter.hasStableIds()) {
+            return mRecyclerView.findViewHolderForItemId(mItemId);
+        }
+        if (mPosition == RecyclerView.NO_POSITION) {
+            return null;
+        }
+        return mRecyclerView.findViewHolderForAdapterPosition(mPosition);
+    }
+}
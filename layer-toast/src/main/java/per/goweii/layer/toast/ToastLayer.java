@@ -16,6 +16,8 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import per.goweii.layer.core.DecorLayer;
+import per.goweii.layer.core.FrameLayer;
+import per.goweii.layer.core.Layer;
 import per.goweii.layer.core.Layers;
 import per.goweii.layer.core.anim.AnimatorHelper;
 import per.goweii.layer.core.utils.Utils;
@@ -24,6 +26,7 @@ public class ToastLayer extends DecorLayer {
     protected static final long DEFAULT_ANIMATOR_DURATION = 220L;
 
     private final Runnable mDismissRunnable = new DismissRunnable();
+    private final FrameLayer.LayerVisitor mRemoveOthersVisitor = new RemoveOthersVisitor();
 
     @NonNull
     public static ToastLayer create() {
@@ -84,7 +87,6 @@ public class ToastLayer extends DecorLayer {
     @Override
     protected void onAttach() {
         super.onAttach();
-        getChild().setTag(R.id.layer_toast_tag, this);
         if (getConfig().mRemoveOthers) {
             removeOthers();
         }
@@ -122,13 +124,6 @@ public class ToastLayer extends DecorLayer {
         super.onPreDismiss();
     }
 
-    @CallSuper
-    @Override
-    protected void onDetach() {
-        getChild().setTag(R.id.layer_toast_tag, null);
-        super.onDetach();
-    }
-
     @NonNull
     @Override
     protected View onCreateChild(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent) {
@@ -155,6 +150,10 @@ public class ToastLayer extends DecorLayer {
 
     @Override
     protected void onDestroyChild() {
+        View content = getViewHolder().getContentOrNull();
+        if (content != null && recycleLayout(content)) {
+            getViewHolder().setContent(null);
+        }
         getViewHolder().getChild().removeAllViews();
         if (!isViewCacheable()) {
             getViewHolder().setContent(null);
@@ -162,6 +161,14 @@ public class ToastLayer extends DecorLayer {
         super.onDestroyChild();
     }
 
+    @Override
+    protected int getPreInflateLayoutId() {
+        if (getConfig().mContentView != null) {
+            return View.NO_ID;
+        }
+        return getConfig().mContentViewId;
+    }
+
     @NonNull
     protected View onCreateContent(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent) {
         if (getConfig().mContentView != null) {
@@ -169,7 +176,7 @@ public class ToastLayer extends DecorLayer {
             return getConfig().mContentView;
         }
         if (getConfig().mContentViewId != View.NO_ID) {
-            return inflater.inflate(getConfig().mContentViewId, parent, false);
+            return inflateLayout(inflater, getConfig().mContentViewId, parent);
         }
         throw new IllegalStateException("未设置contentView");
     }
@@ -210,18 +217,7 @@ public class ToastLayer extends DecorLayer {
     }
 
     private void removeOthers() {
-        final ViewGroup parent = getParent();
-        final int count = parent.getChildCount();
-        for (int i = count - 1; i >= 0; i--) {
-            final View child = parent.getChildAt(i);
-            Object tag = child.getTag(R.id.layer_toast_tag);
-            if (tag instanceof ToastLayer) {
-                ToastLayer toastLayer = (ToastLayer) tag;
-                if (toastLayer != this) {
-                    toastLayer.dismiss(false);
-                }
-            }
-        }
+        getViewHolder().getParent().forEachLayer(mRemoveOthersVisitor);
     }
 
     @NonNull
@@ -293,6 +289,16 @@ public class ToastLayer extends DecorLayer {
         }
     }
 
+    private class RemoveOthersVisitor implements FrameLayer.LayerVisitor {
+        @Override
+        public boolean visit(@NonNull Layer layer) {
+            if (layer instanceof ToastLayer && layer != ToastLayer.this) {
+                layer.dismiss(false);
+            }
+            return false;
+        }
+    }
+
     public static class ViewHolder extends DecorLayer.ViewHolder {
         private View mContent;
 
@@ -306,6 +312,11 @@ public class ToastLayer extends DecorLayer {
             mContent = content;
         }
 
+        @Nullable
+        protected View getContentOrNull() {
+            return mContent;
+        }
+
         @NonNull
         public View getContent() {
             Utils.requireNonNull(mContent, "必须在show方法后调用");
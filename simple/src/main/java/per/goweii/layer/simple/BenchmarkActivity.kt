@@ -0,0 +1,95 @@
+package per.goweii.layer.simple
+
+import android.os.Build
+import android.os.Bundle
+import android.view.View
+import android.widget.TextView
+import androidx.appcompat.app.AppCompatActivity
+import org.json.JSONObject
+import per.goweii.layer.core.LayerMetrics
+import per.goweii.layer.core.Layers
+import per.goweii.layer.dialog.DialogLayer
+import java.io.File
+
+/**
+ * 动画帧数和丢帧数需要真实的渲染，只能在设备上测量，结果以JSON形式显示并写入外部私有目录
+ * 其余核心路径的基准测试见layer-benchmark模块，可在JVM上运行
+ */
+class BenchmarkActivity : AppCompatActivity() {
+    companion object {
+        private const val ANIMATION_ROUNDS = 10
+    }
+
+    private val tvReport by lazy { findViewById<TextView>(R.id.tv_report) }
+
+    override fun onCreate(savedInstanceState: Bundle?) {
+        super.onCreate(savedInstanceState)
+        setContentView(R.layout.activity_benchmark)
+    }
+
+    fun onBtnRunClick(view: View) {
+        view.isEnabled = false
+        tvReport.text = "测量动画帧数中..."
+        // 等按钮状态绘制完成后再开始
+        view.post {
+            val report = deviceInfo()
+            benchAnimationFrames { frames ->
+                report.put("animationFrames", frames)
+                val json = report.toString(2)
+                tvReport.text = json
+                getExternalFilesDir(null)?.let { dir ->
+                    File(dir, "layer-benchmark.json").writeText(json)
+                }
+                view.isEnabled = true
+            }
+        }
+    }
+
+    private fun deviceInfo(): JSONObject {
+        return JSONObject().apply {
+            put("device", "${Build.MANUFACTURER} ${Build.MODEL}")
+            put("sdk", Build.VERSION.SDK_INT)
+        }
+    }
+
+    /**
+     * 带动画的show/dismiss，对比动画期间是否提升为硬件层的帧数和丢帧数
+     */
+    private fun benchAnimationFrames(onComplete: (JSONObject) -> Unit) {
+        val result = JSONObject()
+        val cases = arrayOf("hardwareLayer" to true, "noHardwareLayer" to false)
+        val previousTracer = Layers.getTracer()
+        fun runCase(index: Int) {
+            if (index >= cases.size) {
+                Layers.setTracer(previousTracer)
+                onComplete(result)
+                return
+            }
+            val (name, hardwareLayer) = cases[index]
+            val layer = DialogLayer(this).setContentView(R.layout.dialog_normal)
+            layer.setHardwareLayerEnabled(hardwareLayer)
+            var rounds = 0
+            var frames = 0
+            var droppedFrames = 0
+            Layers.setTracer { l, metrics ->
+                if (l !== layer) return@setTracer
+                frames += metrics.frameCount
+                droppedFrames += metrics.droppedFrameCount
+                if (metrics.type == LayerMetrics.Type.SHOW) {
+                    tvReport.post { layer.dismiss() }
+                } else if (++rounds < ANIMATION_ROUNDS) {
+                    tvReport.post { layer.show() }
+                } else {
+                    result.put(name, JSONObject().apply {
+                        put("frames", frames)
+                        put("droppedFrames", droppedFrames)
+                        put("droppedRate", if (frames == 0) 0.0 else droppedFrames.toDouble() / (frames + droppedFrames))
+                    })
+                    tvReport.post { runCase(index + 1) }
+                }
+            }
+            layer.show()
+        }
+        runCase(0)
+    }
+}
@@ -22,4 +22,8 @@ class MainActivity : AppCompatActivity() {
     fun onBtnCupertino(view: View) {
         startActivity(Intent(this@MainActivity, CupertinoSimpleActivity::class.java))
     }
+
+    fun onBtnBenchmark(view: View) {
+        startActivity(Intent(this@MainActivity, BenchmarkActivity::class.java))
+    }
 }
\ No newline at end of file